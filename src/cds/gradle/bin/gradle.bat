@@ -0,0 +1,3 @@
+@rem Stands in for Gradle while training the class list, so generating a project needs no network.
+@rem Test generation reads the wrappers of the build, an empty directory leaves it nothing to do.
+@if not exist build\generated\source\web3j\main\java mkdir build\generated\source\web3j\main\java
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.project.templates;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares compiled templates with the chained {@code replaceAll} calls they replaced. Run it with
+ * {@code ./gradlew jmh}; no results have been recorded yet, so any speedup is unverified.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+    @Param({"Java.template", "Kotlin.template", "build.gradle.template"})
+    public String templateName;
+
+    private String text;
+    private Template template;
+    private Map<String, String> values;
+
+    @Setup
+    public void setUp() throws IOException {
+        text = TemplateReader.readFile(templateName);
+        template = Template.load(templateName);
+        values = new HashMap<>();
+        values.put("project_name", "Benchmark");
+        values.put("package_name", "org.web3j.benchmark");
+        values.put("wallet_name", "UTC--2020-01-01T00-00-00.000000000Z--wallet.json");
+        values.put("password_file_name", "wallet-password");
+    }
+
+    @Benchmark
+    public String replaceAll() {
+        return text.replaceAll("<project_name>", values.get("project_name"))
+                .replaceAll("<package_name>", values.get("package_name"))
+                .replaceAll("<wallet_name>", values.get("wallet_name"))
+                .replaceAll("<password_file_name>", values.get("password_file_name"));
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return template.render(values);
+    }
+
+    @Benchmark
+    public String compileAndRender() {
+        return Template.compile(text).render(values);
+    }
+}
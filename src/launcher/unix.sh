@@ -0,0 +1,31 @@
+# Use a class data sharing archive of the CLI classes, created in the background on first use
+CDS_CLASSLIST="$APP_HOME/lib/web3j.classlist"
+if [ -w "$APP_HOME/lib" ] ; then
+    CDS_ARCHIVE="$APP_HOME/lib/web3j.jsa"
+else
+    CDS_ARCHIVE="$HOME/.web3j/cds/web3j.jsa"
+fi
+CDS_DIR="`dirname "$CDS_ARCHIVE"`"
+if [ -z "$WEB3J_DISABLE_CDS" ] && [ -f "$CDS_CLASSLIST" ] ; then
+    if [ -f "$CDS_ARCHIVE" ] ; then
+        DEFAULT_JVM_OPTS="$DEFAULT_JVM_OPTS \"-XX:SharedArchiveFile=$CDS_ARCHIVE\" -Xshare:auto"
+    elif [ "`cat "$CDS_ARCHIVE.failed" 2>/dev/null`" != "$JAVACMD" ] \
+            && mkdir -p "$CDS_DIR" 2>/dev/null && [ -w "$CDS_DIR" ] ; then
+        # a failed dump is recorded with the JVM that failed, so it is not retried on every launch
+        ( "$JAVACMD" -Xshare:dump "-XX:SharedClassListFile=$CDS_CLASSLIST" \
+            "-XX:SharedArchiveFile=$CDS_ARCHIVE.$$" -classpath "$CLASSPATH" > /dev/null 2>&1 \
+            && mv "$CDS_ARCHIVE.$$" "$CDS_ARCHIVE" || echo "$JAVACMD" > "$CDS_ARCHIVE.failed" ; \
+            rm -f "$CDS_ARCHIVE.$$" ) &
+    fi
+fi
+
+# WEB3J_DAEMON=true makes the launcher forward commands to a resident daemon JVM. The daemon runs
+# one command at a time and intercepts System.exit with a security manager, which is deprecated
+# for removal: DaemonClient starts it with -Djava.security.manager=allow on Java 12 and later, and
+# runs commands in its own JVM on Java 24 and later, where a security manager cannot be installed.
+if [ -n "$WEB3J_DAEMON" ] ; then
+    WEB3J_MAIN_CLASS=org.web3j.console.daemon.DaemonClient
+else
+    WEB3J_MAIN_CLASS=org.web3j.console.Runner
+fi
+
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Hash;
+import org.web3j.utils.Numeric;
+
+/**
+ * Keeps decrypted private keys in memory for a limited time, so the key derivation of a wallet file
+ * is only paid once per session. Entries are keyed by the wallet file path, a hash of its contents
+ * and an HMAC of the password under a random key of this cache, so a cached key is only served for
+ * the password that decrypted it. Key bytes are zeroed when they expire.
+ */
+class CredentialCache {
+
+    static final String TTL_ENV = "WEB3J_CREDENTIAL_CACHE_TTL";
+
+    private static final int PRIVATE_KEY_SIZE = 32;
+
+    // shared by every command run in this process with the same time to live
+    private static CredentialCache shared;
+
+    private final long ttlMillis;
+    private final byte[] passwordKey = new byte[32];
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    CredentialCache(long ttl, TimeUnit unit) {
+        this.ttlMillis = unit.toMillis(ttl);
+        new SecureRandom().nextBytes(passwordKey);
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "credential-cache");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
+
+    /**
+     * Returns the cache shared by the commands of this process if a time to live in seconds is set
+     * in the environment of the current command, null otherwise.
+     */
+    static synchronized CredentialCache fromEnvironment() {
+        String ttl = Environment.getenv(TTL_ENV);
+        if (ttl == null || ttl.trim().isEmpty()) {
+            return null;
+        }
+        long seconds;
+        try {
+            seconds = Long.parseLong(ttl.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (seconds <= 0) {
+            return null;
+        }
+        if (shared == null || shared.ttlMillis != TimeUnit.SECONDS.toMillis(seconds)) {
+            if (shared != null) {
+                shared.close();
+            }
+            shared = new CredentialCache(seconds, TimeUnit.SECONDS);
+        }
+        return shared;
+    }
+
+    synchronized Optional<Credentials> get(File walletFile, String password) throws IOException {
+        evictExpired();
+        Entry entry = entries.get(getKey(walletFile, password));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Credentials.create(ECKeyPair.create(entry.privateKey)));
+    }
+
+    synchronized void put(File walletFile, String password, Credentials credentials)
+            throws IOException {
+        String key = getKey(walletFile, password);
+        byte[] privateKey =
+                Numeric.toBytesPadded(credentials.getEcKeyPair().getPrivateKey(), PRIVATE_KEY_SIZE);
+        Entry previous =
+                entries.put(key, new Entry(privateKey, System.currentTimeMillis() + ttlMillis));
+        if (previous != null) {
+            previous.clear();
+        }
+        scheduler.schedule(this::evictExpired, ttlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized int size() {
+        evictExpired();
+        return entries.size();
+    }
+
+    /** Zeroes and removes every cached key. */
+    synchronized void clear() {
+        entries.values().forEach(Entry::clear);
+        entries.clear();
+    }
+
+    /** Zeroes every cached key and stops the expiry thread. */
+    synchronized void close() {
+        clear();
+        scheduler.shutdownNow();
+    }
+
+    private synchronized void evictExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expires <= now) {
+                entry.clear();
+                iterator.remove();
+            }
+        }
+    }
+
+    private String getKey(File walletFile, String password) throws IOException {
+        // the content hash means a replaced or re-encrypted wallet file is never served stale keys
+        byte[] contents = Files.readAllBytes(walletFile.toPath());
+        return walletFile.getCanonicalPath()
+                + ":"
+                + Numeric.toHexString(Hash.sha256(contents))
+                + ":"
+                + Numeric.toHexString(hashPassword(password));
+    }
+
+    private byte[] hashPassword(String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(passwordKey, "HmacSHA256"));
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private final byte[] privateKey;
+        private final long expires;
+
+        private Entry(byte[] privateKey, long expires) {
+            this.privateKey = privateKey;
+            this.expires = expires;
+        }
+
+        private void clear() {
+            Arrays.fill(privateKey, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Bounded cache of resolved ENS names whose entries expire after a time to live. It can be
+ * persisted to {@code ~/.web3j/ens-cache.json} so resolutions are shared between runs.
+ */
+class EnsNameCache {
+
+    static final File DEFAULT_FILE =
+            Paths.get(System.getProperty("user.home"), ".web3j", "ens-cache.json").toFile();
+
+    static final long DEFAULT_TTL_MINUTES = 10;
+    static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private static final int RESOLVER_THREADS = 8;
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final File file;
+    private final LongSupplier clock;
+    private final Map<String, CachedAddress> entries;
+
+    EnsNameCache(long ttlMillis, int maxEntries, File file, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.file = file;
+        this.clock = clock;
+        // access ordered, so the least recently used names are dropped first
+        this.entries =
+                new LinkedHashMap<String, CachedAddress>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, CachedAddress> eldest) {
+                        return size() > EnsNameCache.this.maxEntries;
+                    }
+                };
+        load();
+    }
+
+    /** Creates a cache that only lives in memory, or one backed by the default file. */
+    static EnsNameCache create(boolean persistent) {
+        return new EnsNameCache(
+                TimeUnit.MINUTES.toMillis(DEFAULT_TTL_MINUTES),
+                DEFAULT_MAX_ENTRIES,
+                persistent ? DEFAULT_FILE : null,
+                System::currentTimeMillis);
+    }
+
+    synchronized String get(String name) {
+        CachedAddress entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        } else if (entry.expires <= clock.getAsLong()) {
+            entries.remove(name);
+            return null;
+        }
+        return entry.address;
+    }
+
+    synchronized void put(String name, String address) {
+        entries.put(name, new CachedAddress(address, clock.getAsLong() + ttlMillis));
+    }
+
+    /**
+     * Returns the addresses of the given names, resolving the distinct names that are not cached
+     * concurrently. Names that cannot be resolved are reported through the thrown exception.
+     */
+    Map<String, String> resolveAll(Collection<String> names, Function<String, String> resolver) {
+        Map<String, String> addresses = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            String address = get(name);
+            if (address != null) {
+                addresses.put(name, address);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return addresses;
+        }
+
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.min(RESOLVER_THREADS, missing.size()));
+        try {
+            Map<String, CompletableFuture<String>> resolutions = new LinkedHashMap<>();
+            for (String name : missing) {
+                resolutions.put(
+                        name, CompletableFuture.supplyAsync(() -> resolver.apply(name), executor));
+            }
+            for (Map.Entry<String, CompletableFuture<String>> resolution : resolutions.entrySet()) {
+                try {
+                    String address = resolution.getValue().join();
+                    put(resolution.getKey(), address);
+                    addresses.put(resolution.getKey(), address);
+                } catch (CompletionException e) {
+                    throw new IllegalStateException(
+                            "Unable to resolve ENS name "
+                                    + resolution.getKey()
+                                    + ": "
+                                    + e.getCause().getMessage(),
+                            e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            save();
+        }
+        return addresses;
+    }
+
+    private synchronized void load() {
+        if (file == null || !file.exists()) {
+            return;
+        }
+        try {
+            Map<String, CachedAddress> saved =
+                    new Gson()
+                            .fromJson(
+                                    new String(
+                                            Files.readAllBytes(file.toPath()),
+                                            StandardCharsets.UTF_8),
+                                    new TypeToken<
+                                            LinkedHashMap<String, CachedAddress>>() {}.getType());
+            if (saved != null) {
+                long now = clock.getAsLong();
+                saved.forEach(
+                        (name, entry) -> {
+                            if (entry.expires > now) {
+                                entries.put(name, entry);
+                            }
+                        });
+            }
+        } catch (IOException | JsonParseException e) {
+            // an unreadable cache is simply rebuilt
+        }
+    }
+
+    private synchronized void save() {
+        if (file == null) {
+            return;
+        }
+        try {
+            File parent = file.getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                return;
+            }
+            File tempFile = File.createTempFile(".ens-cache", ".tmp", parent);
+            try {
+                Files.write(
+                        tempFile.toPath(),
+                        // copied because Gson does not serialize anonymous classes
+                        new Gson()
+                                .toJson(new LinkedHashMap<>(entries))
+                                .getBytes(StandardCharsets.UTF_8));
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tempFile.toPath());
+            }
+        } catch (IOException e) {
+            // the cache is only an optimisation, a failed write is not worth failing a transfer
+        }
+    }
+
+    private static class CachedAddress {
+        private final String address;
+        private final long expires;
+
+        private CachedAddress(String address, long expires) {
+            this.address = address;
+            this.expires = expires;
+        }
+    }
+}
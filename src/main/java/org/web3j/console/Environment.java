@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Environment of the current invocation. Commands run by the daemon see the variables and terminal
+ * of the launcher that sent them, not those of the shell that started the daemon.
+ */
+public final class Environment {
+
+    private static volatile Map<String, String> variables;
+    private static volatile boolean remoteTerminal;
+
+    private Environment() {}
+
+    public static String getenv(String name) {
+        Map<String, String> current = variables;
+        return current != null ? current.get(name) : System.getenv(name);
+    }
+
+    /**
+     * Returns true if the input comes from the terminal of another process, where passwords cannot
+     * be read without echoing them.
+     */
+    public static boolean isRemoteTerminal() {
+        return variables != null && remoteTerminal;
+    }
+
+    /** Uses the environment of a launcher until {@link #reset()} is called. */
+    public static void setLauncher(Map<String, String> launcherVariables, boolean terminal) {
+        remoteTerminal = terminal;
+        variables = Collections.unmodifiableMap(new HashMap<>(launcherVariables));
+    }
+
+    public static void reset() {
+        variables = null;
+        remoteTerminal = false;
+    }
+}
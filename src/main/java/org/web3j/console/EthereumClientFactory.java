@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.JsonRpc2_0Web3j;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.infura.InfuraHttpService;
+import org.web3j.protocol.nodesmith.NodesmithHttpService;
+
+/**
+ * Provides one {@link Web3j} client per endpoint URL, sharing a single HTTP connection pool and
+ * scheduler between them.
+ */
+public class EthereumClientFactory {
+
+    private static final int MAX_IDLE_CONNECTIONS = 16;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final int MAX_REQUESTS_PER_HOST = 64;
+
+    private static final Map<String, Web3j> clients = new HashMap<>();
+    private static OkHttpClient httpClient;
+    private static ScheduledExecutorService scheduler;
+
+    private EthereumClientFactory() {}
+
+    public static synchronized Web3j getClient(String url) {
+        String endpoint =
+                url == null || url.trim().isEmpty() ? HttpService.DEFAULT_URL : url.trim();
+        return clients.computeIfAbsent(
+                endpoint,
+                key ->
+                        Web3j.build(
+                                createService(key),
+                                JsonRpc2_0Web3j.DEFAULT_BLOCK_TIME,
+                                getScheduler()));
+    }
+
+    /** Closes every client created so far and releases the shared connections and threads. */
+    public static synchronized void shutdown() {
+        clients.values().forEach(Web3j::shutdown);
+        clients.clear();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (httpClient != null) {
+            httpClient.dispatcher().executorService().shutdown();
+            httpClient.connectionPool().evictAll();
+            httpClient = null;
+        }
+    }
+
+    private static Web3jService createService(String url) {
+        // the hosted provider services do not accept a custom client, so only plain endpoints
+        // share the tuned connection pool
+        if (url.contains("infura.io")) {
+            return new InfuraHttpService(url);
+        } else if (url.contains("nodesmith.io")) {
+            return new NodesmithHttpService(url);
+        } else {
+            return new HttpService(url, getHttpClient());
+        }
+    }
+
+    private static OkHttpClient getHttpClient() {
+        if (httpClient == null) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+            httpClient =
+                    new OkHttpClient.Builder()
+                            .connectionPool(
+                                    new ConnectionPool(
+                                            MAX_IDLE_CONNECTIONS,
+                                            KEEP_ALIVE_MINUTES,
+                                            TimeUnit.MINUTES))
+                            .dispatcher(dispatcher)
+                            .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                            .build();
+        }
+        return httpClient;
+    }
+
+    private static ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler =
+                    Executors.newSingleThreadScheduledExecutor(
+                            runnable -> {
+                                Thread thread = new Thread(runnable, "web3j-client");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+        }
+        return scheduler;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+import org.web3j.protocol.core.methods.response.Transaction;
+
+/**
+ * Chooses the gas price of transfers. Prices looked up from a client are cached for a time to live,
+ * so a batch of transfers only queries the client once per period.
+ */
+public abstract class GasPriceStrategy {
+
+    public static final String USAGE =
+            "--gas-price <wei>|node[:<ttl seconds>]|percentile:<percentile>[,<blocks>]";
+
+    static final long DEFAULT_TTL_SECONDS = 15;
+    static final int DEFAULT_BLOCKS = 20;
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private BigInteger cachedGasPrice;
+    private long expires;
+
+    GasPriceStrategy(long ttlMillis, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    public static GasPriceStrategy fixed(BigInteger gasPrice) {
+        return new Fixed(gasPrice);
+    }
+
+    /** Uses the price suggested by the client through {@code eth_gasPrice}. */
+    public static GasPriceStrategy nodeSuggested(long ttl, TimeUnit unit) {
+        return new NodeSuggested(unit.toMillis(ttl), System::currentTimeMillis);
+    }
+
+    /** Uses a percentile of the gas prices paid in the latest blocks. */
+    public static GasPriceStrategy percentile(int percentile, int blocks, long ttl, TimeUnit unit) {
+        return new Percentile(percentile, blocks, unit.toMillis(ttl), System::currentTimeMillis);
+    }
+
+    public static GasPriceStrategy parse(String value) {
+        try {
+            if (value.equals("node")) {
+                return nodeSuggested(DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+            } else if (value.startsWith("node:")) {
+                long ttl = Long.parseLong(value.substring("node:".length()).trim());
+                if (ttl >= 0) {
+                    return nodeSuggested(ttl, TimeUnit.SECONDS);
+                }
+            } else if (value.startsWith("percentile:")) {
+                String[] params = value.substring("percentile:".length()).split(",");
+                int percentile = Integer.parseInt(params[0].trim());
+                int blocks =
+                        params.length > 1 ? Integer.parseInt(params[1].trim()) : DEFAULT_BLOCKS;
+                if (params.length <= 2 && percentile >= 0 && percentile <= 100 && blocks > 0) {
+                    return percentile(percentile, blocks, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+                }
+            } else {
+                BigInteger gasPrice = new BigInteger(value.trim());
+                if (gasPrice.signum() >= 0) {
+                    return fixed(gasPrice);
+                }
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException("Invalid gas price strategy: " + value);
+    }
+
+    /** Returns the gas price to use, only asking the client once the cached price has expired. */
+    public synchronized BigInteger getGasPrice(Web3j web3j) throws IOException {
+        long now = clock.getAsLong();
+        if (cachedGasPrice == null || now >= expires) {
+            cachedGasPrice = fetchGasPrice(web3j);
+            expires = now + ttlMillis;
+        }
+        return cachedGasPrice;
+    }
+
+    /** Returns true if a client must be contacted to determine the gas price. */
+    public boolean requiresClient() {
+        return true;
+    }
+
+    abstract BigInteger fetchGasPrice(Web3j web3j) throws IOException;
+
+    /** Returns the price suggested by the client, failing with its message if it reports one. */
+    static BigInteger fetchSuggestedGasPrice(Web3j web3j) throws IOException {
+        EthGasPrice ethGasPrice = web3j.ethGasPrice().send();
+        if (ethGasPrice.hasError()) {
+            throw new IOException(
+                    "Client returned an error for eth_gasPrice: "
+                            + ethGasPrice.getError().getMessage());
+        }
+        return ethGasPrice.getGasPrice();
+    }
+
+    static class Fixed extends GasPriceStrategy {
+        private final BigInteger gasPrice;
+
+        Fixed(BigInteger gasPrice) {
+            super(Long.MAX_VALUE, () -> 0L);
+            this.gasPrice = gasPrice;
+        }
+
+        @Override
+        public boolean requiresClient() {
+            return false;
+        }
+
+        @Override
+        BigInteger fetchGasPrice(Web3j web3j) {
+            return gasPrice;
+        }
+
+        @Override
+        public String toString() {
+            return gasPrice + " wei";
+        }
+    }
+
+    static class NodeSuggested extends GasPriceStrategy {
+
+        NodeSuggested(long ttlMillis, LongSupplier clock) {
+            super(ttlMillis, clock);
+        }
+
+        @Override
+        BigInteger fetchGasPrice(Web3j web3j) throws IOException {
+            return fetchSuggestedGasPrice(web3j);
+        }
+
+        @Override
+        public String toString() {
+            return "node suggested";
+        }
+    }
+
+    static class Percentile extends GasPriceStrategy {
+        private final int percentile;
+        private final int blocks;
+
+        Percentile(int percentile, int blocks, long ttlMillis, LongSupplier clock) {
+            super(ttlMillis, clock);
+            this.percentile = percentile;
+            this.blocks = blocks;
+        }
+
+        @Override
+        BigInteger fetchGasPrice(Web3j web3j) throws IOException {
+            EthBlockNumber ethBlockNumber = web3j.ethBlockNumber().send();
+            if (ethBlockNumber.hasError()) {
+                throw new IOException(
+                        "Client returned an error for eth_blockNumber: "
+                                + ethBlockNumber.getError().getMessage());
+            }
+            BigInteger latest = ethBlockNumber.getBlockNumber();
+
+            // all blocks are fetched in a single batch request
+            BatchRequest batchRequest = web3j.newBatch();
+            for (int i = 0; i < blocks && latest.signum() >= 0; i++) {
+                batchRequest.add(
+                        web3j.ethGetBlockByNumber(DefaultBlockParameter.valueOf(latest), true));
+                latest = latest.subtract(BigInteger.ONE);
+            }
+
+            List<BigInteger> gasPrices = new ArrayList<>();
+            for (Response<?> response : batchRequest.send().getResponses()) {
+                EthBlock.Block block = ((EthBlock) response).getBlock();
+                if (block == null) {
+                    continue;
+                }
+                for (EthBlock.TransactionResult<?> result : block.getTransactions()) {
+                    gasPrices.add(((Transaction) result.get()).getGasPrice());
+                }
+            }
+            if (gasPrices.isEmpty()) {
+                return fetchSuggestedGasPrice(web3j);
+            }
+
+            Collections.sort(gasPrices);
+            int index = (int) Math.ceil(percentile / 100.0 * gasPrices.size()) - 1;
+            return gasPrices.get(Math.max(0, index));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%dth percentile of the last %d blocks", percentile, blocks);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.web3j.crypto.CipherException;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.Wallet;
+import org.web3j.crypto.WalletFile;
+import org.web3j.protocol.ObjectMapperFactory;
+
+/** Scrypt key derivation parameters used to encrypt wallet files. */
+public class KdfProfile {
+
+    public static final String USAGE = "--kdf light|standard|custom:<n>,<p>";
+
+    // parameters match WalletUtils full and light wallet files, the block size r is fixed at 8
+    public static final KdfProfile STANDARD = new KdfProfile("standard", 1 << 18, 1);
+    public static final KdfProfile LIGHT = new KdfProfile("light", 1 << 12, 6);
+
+    private static final int R = 8;
+
+    private static final DateTimeFormatter WALLET_FILE_NAME_FORMAT =
+            DateTimeFormatter.ofPattern("'UTC--'yyyy-MM-dd'T'HH-mm-ss.nVV'--'");
+
+    private final String name;
+    private final int n;
+    private final int p;
+
+    public KdfProfile(String name, int n, int p) {
+        this.name = name;
+        this.n = n;
+        this.p = p;
+    }
+
+    public static KdfProfile parse(String value) {
+        if (value.equals(STANDARD.name)) {
+            return STANDARD;
+        } else if (value.equals(LIGHT.name)) {
+            return LIGHT;
+        } else if (value.startsWith("custom:")) {
+            String[] params = value.substring("custom:".length()).split(",");
+            if (params.length == 2) {
+                int n = Integer.parseInt(params[0].trim());
+                int p = Integer.parseInt(params[1].trim());
+                if (n > 1 && (n & (n - 1)) == 0 && p > 0) {
+                    return new KdfProfile(value, n, p);
+                }
+            }
+            throw new IllegalArgumentException(
+                    "Custom scrypt parameters must be custom:<n>,<p> with n a power of 2");
+        }
+        throw new IllegalArgumentException("Unknown key derivation profile: " + value);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public int getP() {
+        return p;
+    }
+
+    /** Memory in bytes required by a single key derivation. */
+    public long getMemory() {
+        return 128L * R * n;
+    }
+
+    public String generateNewWalletFile(String password, File destinationDirectory)
+            throws CipherException, IOException, InvalidAlgorithmParameterException,
+                    NoSuchAlgorithmException, NoSuchProviderException {
+        return generateWalletFile(password, Keys.createEcKeyPair(), destinationDirectory);
+    }
+
+    public String generateWalletFile(
+            String password, ECKeyPair ecKeyPair, File destinationDirectory)
+            throws CipherException, IOException {
+        WalletFile walletFile = Wallet.create(password, ecKeyPair, n, p);
+        String fileName =
+                ZonedDateTime.now(ZoneOffset.UTC).format(WALLET_FILE_NAME_FORMAT)
+                        + walletFile.getAddress()
+                        + ".json";
+
+        // write to a temporary file first so an interrupted run never leaves a partial keystore
+        File tempFile = File.createTempFile(".wallet", ".tmp", destinationDirectory);
+        try {
+            ObjectMapperFactory.getObjectMapper().writeValue(tempFile, walletFile);
+            Files.move(
+                    tempFile.toPath(),
+                    new File(destinationDirectory, fileName).toPath(),
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+        return fileName;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (scrypt n=%d, r=%d, p=%d)", name, n, R, p);
+    }
+}
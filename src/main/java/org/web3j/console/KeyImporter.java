@@ -12,8 +12,18 @@
  */
 package org.web3j.console;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.web3j.crypto.CipherException;
 import org.web3j.crypto.Credentials;
@@ -26,6 +36,13 @@ import static org.web3j.crypto.Keys.PRIVATE_KEY_LENGTH_IN_HEX;
 /** Create Ethereum wallet file from a provided private key. */
 public class KeyImporter extends WalletManager {
 
+    private static final String USAGE =
+            "fromkey [<private key or key file>]|[--batch <key list file> [--threads <number>]] ["
+                    + KdfProfile.USAGE
+                    + "] "
+                    + PASSWORD_USAGE
+                    + " [--destination <directory>]";
+
     public KeyImporter() {}
 
     public KeyImporter(IODevice console) {
@@ -33,10 +50,27 @@ public class KeyImporter extends WalletManager {
     }
 
     public static void main(String[] args) {
-        if (args.length == 1) {
-            new KeyImporter().run(args[0]);
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        KdfProfile kdfProfile = removeKdfOption(arguments, USAGE);
+        Optional<String> keyListFile = removeOption(arguments, "--batch", USAGE);
+        int threads =
+                removeCountOption(arguments, "--threads", getDefaultThreads(kdfProfile), USAGE);
+        String password =
+                removePasswordOption(arguments, "--password-file", "--password-env", USAGE);
+        Optional<String> destinationDir = removeOption(arguments, "--destination", USAGE);
+
+        KeyImporter keyImporter = new KeyImporter();
+        keyImporter.setKdfProfile(kdfProfile);
+        keyImporter.setNewPassword(password);
+        destinationDir.ifPresent(keyImporter::setDestinationDir);
+        if (keyListFile.isPresent() && arguments.isEmpty()) {
+            keyImporter.runBatch(keyListFile.get(), threads);
+        } else if (keyListFile.isPresent() || arguments.size() > 1) {
+            exitError(USAGE);
+        } else if (arguments.size() == 1) {
+            keyImporter.run(arguments.get(0));
         } else {
-            new KeyImporter().run();
+            keyImporter.run();
         }
     }
 
@@ -44,6 +78,12 @@ public class KeyImporter extends WalletManager {
         new KeyImporter(console).run();
     }
 
+    static void main(IODevice console, KdfProfile kdfProfile, String keyListFile, int threads) {
+        KeyImporter keyImporter = new KeyImporter(console);
+        keyImporter.setKdfProfile(kdfProfile);
+        keyImporter.runBatch(keyListFile, threads);
+    }
+
     private void run(String input) {
         File keyFile = new File(input);
 
@@ -68,7 +108,7 @@ public class KeyImporter extends WalletManager {
         run(input);
     }
 
-    private void createWalletFile(String privateKey) {
+    void createWalletFile(String privateKey) {
         if (!WalletUtils.isValidPrivateKey(privateKey)) {
             exitError(
                     "Invalid private key specified, must be "
@@ -84,8 +124,7 @@ public class KeyImporter extends WalletManager {
 
         try {
             String walletFileName =
-                    WalletUtils.generateWalletFile(
-                            password, credentials.getEcKeyPair(), destination, true);
+                    generateWalletFile(password, credentials.getEcKeyPair(), destination);
             console.printf(
                     "Wallet file "
                             + walletFileName
@@ -96,4 +135,57 @@ public class KeyImporter extends WalletManager {
             exitError(e);
         }
     }
+
+    private void runBatch(String keyListFile, int threads) {
+        String password = getPassword("Please enter a wallet file password: ");
+        String destinationDir = getDestinationDir();
+        File destination = createDir(destinationDir);
+
+        AtomicInteger imported = new AtomicInteger();
+        int skipped = 0;
+        long start = System.nanoTime();
+
+        ExecutorService executor = newBoundedExecutor(threads);
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                new FileInputStream(keyListFile), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String privateKey = line.trim();
+                if (privateKey.isEmpty()) {
+                    continue;
+                } else if (!WalletUtils.isValidPrivateKey(privateKey)) {
+                    console.printf("Skipping invalid private key on line %d\n", lineNumber);
+                    skipped++;
+                    continue;
+                }
+
+                executor.execute(
+                        () -> {
+                            Credentials credentials = Credentials.create(privateKey);
+                            try {
+                                kdfProfile.generateWalletFile(
+                                        password, credentials.getEcKeyPair(), destination);
+                                imported.incrementAndGet();
+                            } catch (CipherException | IOException e) {
+                                console.printf(
+                                        "Unable to create wallet file for address %s: %s\n",
+                                        credentials.getAddress(), e.getMessage());
+                            }
+                        });
+            }
+        } catch (IOException e) {
+            executor.shutdownNow();
+            exitError("Unable to read file " + keyListFile);
+        }
+        awaitCompletion(executor);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        console.printf(
+                "%d wallet files successfully created in: %s (%d keys skipped, %.2f keys/sec)\n",
+                imported.get(), destinationDir, skipped, imported.get() / seconds);
+    }
 }
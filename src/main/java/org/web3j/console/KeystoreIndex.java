@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import org.web3j.crypto.Hash;
+import org.web3j.utils.Numeric;
+
+/**
+ * Persistent index from addresses to the wallet files of a keystore directory, stored under {@code
+ * ~/.web3j/keystore-index}. Only the address field of each wallet file is read, and files are only
+ * read again when their modification time changes. If several files hold the same address, such as
+ * after updating a wallet without deleting the original, the one with the newest UTC timestamp in
+ * its name is used.
+ */
+class KeystoreIndex {
+
+    private static final Path INDEX_DIRECTORY =
+            Paths.get(System.getProperty("user.home"), ".web3j", "keystore-index");
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /** Orders wallet file names by their UTC timestamp, names without one first. */
+    private static final Comparator<String> BY_TIMESTAMP =
+            Comparator.comparing(KeystoreIndex::getTimestamp)
+                    .thenComparing(Comparator.naturalOrder());
+
+    private final File keystoreDirectory;
+    private final File indexFile;
+    private IndexData data;
+    private Map<String, String> filesByAddress;
+
+    KeystoreIndex(File keystoreDirectory, File indexFile) {
+        this.keystoreDirectory = keystoreDirectory;
+        this.indexFile = indexFile;
+    }
+
+    static KeystoreIndex forDirectory(File keystoreDirectory) throws IOException {
+        String key =
+                Numeric.toHexStringNoPrefix(
+                        Hash.sha256(
+                                keystoreDirectory
+                                        .getCanonicalPath()
+                                        .getBytes(StandardCharsets.UTF_8)));
+        return new KeystoreIndex(
+                keystoreDirectory, INDEX_DIRECTORY.resolve(key + ".json").toFile());
+    }
+
+    /** Returns the wallet file for the given address, refreshing the index only if it is stale. */
+    Optional<File> find(String address) throws IOException {
+        String key = Numeric.cleanHexPrefix(address).toLowerCase();
+        boolean refreshed = false;
+        if (data == null) {
+            load();
+        }
+        if (data.directoryModified != keystoreDirectory.lastModified()) {
+            refresh();
+            refreshed = true;
+        }
+
+        Optional<File> walletFile = lookup(key);
+        if (!walletFile.isPresent() && !refreshed) {
+            // directory timestamps can be coarse, so rescan once before reporting a miss
+            refresh();
+            walletFile = lookup(key);
+        }
+        return walletFile;
+    }
+
+    /** Returns every address in the keystore directory, rescanning it if it has changed. */
+    Set<String> getAddresses() throws IOException {
+        if (data == null) {
+            load();
+        }
+        if (data.directoryModified != keystoreDirectory.lastModified()) {
+            refresh();
+        }
+        return new TreeSet<>(filesByAddress.keySet());
+    }
+
+    private Optional<File> lookup(String address) {
+        String fileName = filesByAddress.get(address);
+        if (fileName == null) {
+            return Optional.empty();
+        }
+        File walletFile = new File(keystoreDirectory, fileName);
+        if (walletFile.lastModified() != data.files.get(fileName).lastModified) {
+            return Optional.empty();
+        }
+        return Optional.of(walletFile);
+    }
+
+    /** Rescans the directory, reading only wallet files that are new or have changed. */
+    void refresh() throws IOException {
+        if (data == null) {
+            load();
+        }
+        long directoryModified = keystoreDirectory.lastModified();
+        File[] walletFiles = keystoreDirectory.listFiles(File::isFile);
+        if (walletFiles == null) {
+            throw new IOException("Unable to read keystore directory: " + keystoreDirectory);
+        }
+
+        Map<String, IndexEntry> files = new HashMap<>();
+        for (File walletFile : walletFiles) {
+            IndexEntry entry = data.files.get(walletFile.getName());
+            if (entry == null || entry.lastModified != walletFile.lastModified()) {
+                entry = new IndexEntry(readAddress(walletFile), walletFile.lastModified());
+            }
+            files.put(walletFile.getName(), entry);
+        }
+
+        data.directoryModified = directoryModified;
+        data.files = files;
+        updateAddresses();
+        save();
+    }
+
+    private void load() {
+        data = null;
+        if (indexFile.exists()) {
+            try {
+                data =
+                        new Gson()
+                                .fromJson(
+                                        new String(
+                                                Files.readAllBytes(indexFile.toPath()),
+                                                StandardCharsets.UTF_8),
+                                        IndexData.class);
+            } catch (IOException | JsonParseException e) {
+                // a damaged index is rebuilt from the directory
+            }
+        }
+        if (data == null || data.files == null) {
+            data = new IndexData();
+        }
+        updateAddresses();
+    }
+
+    private void save() throws IOException {
+        File parent = indexFile.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create keystore index directory: " + parent);
+        }
+        File tempFile = File.createTempFile(".index", ".tmp", parent);
+        try {
+            Files.write(
+                    tempFile.toPath(), new Gson().toJson(data).getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    private void updateAddresses() {
+        filesByAddress = new HashMap<>();
+        data.files.forEach(
+                (fileName, entry) -> {
+                    if (entry.address != null) {
+                        filesByAddress.merge(
+                                entry.address,
+                                fileName,
+                                (first, second) ->
+                                        BY_TIMESTAMP.compare(first, second) >= 0 ? first : second);
+                    }
+                });
+    }
+
+    /**
+     * Returns the timestamp of a wallet file name such as {@code
+     * UTC--2016-11-03T05-55-06.340672473Z--<address>}, with the fraction of a second padded so that
+     * timestamps compare as strings, or an empty string if the name has none.
+     */
+    private static String getTimestamp(String fileName) {
+        int end = fileName.indexOf("--", 5);
+        if (!fileName.startsWith("UTC--") || end < 0) {
+            return "";
+        }
+        String timestamp = fileName.substring(5, end);
+        if (timestamp.endsWith("Z")) {
+            timestamp = timestamp.substring(0, timestamp.length() - 1);
+        }
+        int dot = timestamp.indexOf('.');
+        String seconds = dot < 0 ? timestamp : timestamp.substring(0, dot);
+        StringBuilder fraction = new StringBuilder(dot < 0 ? "" : timestamp.substring(dot + 1));
+        while (fraction.length() < 9) {
+            fraction.append('0');
+        }
+        return seconds + "." + fraction;
+    }
+
+    /** Reads the top level address field, returning null for files that are not wallets. */
+    static String readAddress(File walletFile) {
+        try (InputStream in = new FileInputStream(walletFile);
+                JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals("address") && value == JsonToken.VALUE_STRING) {
+                    return Numeric.cleanHexPrefix(parser.getText()).toLowerCase();
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // not a JSON wallet file
+        }
+        return null;
+    }
+
+    private static class IndexData {
+        private long directoryModified;
+        private Map<String, IndexEntry> files = new HashMap<>();
+    }
+
+    private static class IndexEntry {
+        private final String address;
+        private final long lastModified;
+
+        private IndexEntry(String address, long lastModified) {
+            this.address = address;
+            this.lastModified = lastModified;
+        }
+    }
+}
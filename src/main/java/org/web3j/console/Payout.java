@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.web3j.crypto.WalletUtils;
+import org.web3j.ens.EnsResolver;
+import org.web3j.utils.Convert;
+
+/**
+ * A single transfer read from a payouts file, with lines of the form {@code
+ * <destination>,<amount>[,<unit>]}.
+ */
+class Payout {
+
+    private final String destination;
+    private final BigDecimal amount;
+    private final Convert.Unit unit;
+    private final BigInteger amountInWei;
+
+    Payout(String destination, BigDecimal amount, Convert.Unit unit) {
+        this.destination = destination;
+        this.amount = amount;
+        this.unit = unit;
+        this.amountInWei = Convert.toWei(amount, unit).toBigIntegerExact();
+    }
+
+    static List<Payout> readPayouts(File payoutsFile) throws IOException {
+        List<Payout> payouts = new ArrayList<>();
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                new FileInputStream(payoutsFile), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    payouts.add(parse(line));
+                } catch (IllegalArgumentException | ArithmeticException e) {
+                    throw new IllegalArgumentException(
+                            "Invalid payout on line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return payouts;
+    }
+
+    static Payout parse(String line) {
+        String[] fields = line.split(",");
+        if (fields.length < 2 || fields.length > 3) {
+            throw new IllegalArgumentException("expected <destination>,<amount>[,<unit>]");
+        }
+
+        String destination = fields[0].trim();
+        if (!WalletUtils.isValidAddress(destination) && !EnsResolver.isValidEnsName(destination)) {
+            throw new IllegalArgumentException("invalid destination address " + destination);
+        }
+
+        BigDecimal amount = new BigDecimal(fields[1].trim());
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("amount must be positive");
+        }
+
+        Convert.Unit unit =
+                fields.length == 3
+                        ? Convert.Unit.fromString(fields[2].trim().toLowerCase())
+                        : Convert.Unit.ETHER;
+        return new Payout(destination, amount, unit);
+    }
+
+    String getDestination() {
+        return destination;
+    }
+
+    BigDecimal getAmount() {
+        return amount;
+    }
+
+    Convert.Unit getUnit() {
+        return unit;
+    }
+
+    BigInteger getAmountInWei() {
+        return amountInWei;
+    }
+
+    Payout withDestination(String destination) {
+        return new Payout(destination, amount, unit);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s %s to %s", amount.stripTrailingZeros().toPlainString(), unit, destination);
+    }
+}
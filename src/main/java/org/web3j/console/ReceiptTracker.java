@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.TransactionManager;
+
+/**
+ * Completes futures with transaction receipts by polling with exponential backoff, without blocking
+ * a thread per transaction.
+ */
+class ReceiptTracker implements AutoCloseable {
+
+    static final long DEFAULT_TIMEOUT =
+            TransactionManager.DEFAULT_POLLING_FREQUENCY
+                    * TransactionManager.DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH;
+
+    private final Web3j web3j;
+    private final long initialInterval;
+    private final long maxInterval;
+    private final long timeout;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, PendingReceipt> pendingReceipts = new ConcurrentHashMap<>();
+
+    private ReceiptTracker(Web3j web3j, long initialInterval, long maxInterval, long timeout) {
+        this.web3j = web3j;
+        this.initialInterval = initialInterval;
+        this.maxInterval = maxInterval;
+        this.timeout = timeout;
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "receipt-tracker");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
+
+    /** Polls for each receipt, doubling the interval between attempts up to the given maximum. */
+    static ReceiptTracker polling(
+            Web3j web3j, long initialInterval, long maxInterval, long timeout) {
+        return new ReceiptTracker(web3j, initialInterval, maxInterval, timeout);
+    }
+
+    static ReceiptTracker polling(Web3j web3j) {
+        return polling(web3j, 1000, TransactionManager.DEFAULT_POLLING_FREQUENCY, DEFAULT_TIMEOUT);
+    }
+
+    CompletableFuture<TransactionReceipt> track(String transactionHash) {
+        return track(transactionHash, () -> {});
+    }
+
+    /**
+     * Returns a future completed with the receipt for the given transaction, calling {@code
+     * onPending} each time the receipt is checked for and not yet available.
+     */
+    CompletableFuture<TransactionReceipt> track(String transactionHash, Runnable onPending) {
+        PendingReceipt pendingReceipt =
+                new PendingReceipt(transactionHash, onPending, System.currentTimeMillis());
+        pendingReceipts.put(transactionHash, pendingReceipt);
+        pendingReceipt.future.whenComplete(
+                (receipt, throwable) -> pendingReceipts.remove(transactionHash));
+
+        schedule(pendingReceipt, initialInterval);
+        return pendingReceipt.future;
+    }
+
+    /**
+     * Tracks transactions from one account with consecutive nonces. A later nonce cannot be mined
+     * once an earlier one has timed out, so its future fails straight away rather than waiting out
+     * the timeout as well.
+     */
+    List<CompletableFuture<TransactionReceipt>> trackInNonceOrder(List<String> transactionHashes) {
+        List<CompletableFuture<TransactionReceipt>> receipts = new ArrayList<>();
+        for (String transactionHash : transactionHashes) {
+            receipts.add(track(transactionHash));
+        }
+        for (int i = 0; i < receipts.size(); i++) {
+            String transactionHash = transactionHashes.get(i);
+            List<CompletableFuture<TransactionReceipt>> later =
+                    receipts.subList(i + 1, receipts.size());
+            receipts.get(i)
+                    .whenComplete(
+                            (receipt, throwable) -> {
+                                if (throwable == null) {
+                                    return;
+                                }
+                                TransactionException exception =
+                                        new TransactionException(
+                                                "Transaction with an earlier nonce failed: "
+                                                        + transactionHash);
+                                later.forEach(future -> future.completeExceptionally(exception));
+                            });
+        }
+        return receipts;
+    }
+
+    private void schedule(PendingReceipt pendingReceipt, long delay) {
+        pendingReceipt.interval = delay;
+        scheduler.schedule(() -> check(pendingReceipt), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void check(PendingReceipt pendingReceipt) {
+        if (pendingReceipt.future.isDone()) {
+            return;
+        }
+        web3j.ethGetTransactionReceipt(pendingReceipt.transactionHash)
+                .sendAsync()
+                .whenComplete((response, throwable) -> update(pendingReceipt, response, throwable));
+    }
+
+    /**
+     * Errors polling the client, such as a request timing out, are treated as transient and retried
+     * with the same backoff until the overall timeout, so they don't fail the transaction.
+     */
+    private void update(
+            PendingReceipt pendingReceipt, EthGetTransactionReceipt response, Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        if (throwable == null && response.hasError()) {
+            throwable =
+                    new IOException(
+                            "Client returned an error for eth_getTransactionReceipt: "
+                                    + response.getError().getMessage());
+        }
+
+        if (throwable != null) {
+            pendingReceipt.lastError = throwable;
+        } else if (response.getTransactionReceipt().isPresent()) {
+            pendingReceipt.future.complete(response.getTransactionReceipt().get());
+            return;
+        }
+
+        if (System.currentTimeMillis() - pendingReceipt.started > timeout) {
+            String message =
+                    "Transaction receipt was not generated after "
+                            + (timeout / 1000)
+                            + " seconds for transaction: "
+                            + pendingReceipt.transactionHash;
+            if (pendingReceipt.lastError != null) {
+                message += " (last error: " + pendingReceipt.lastError.getMessage() + ")";
+            }
+            pendingReceipt.future.completeExceptionally(
+                    new TransactionException(message, pendingReceipt.transactionHash));
+        } else {
+            if (throwable == null) {
+                pendingReceipt.onPending.run();
+            }
+            schedule(pendingReceipt, Math.min(pendingReceipt.interval * 2, maxInterval));
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static class PendingReceipt {
+        private final String transactionHash;
+        private final Runnable onPending;
+        private final long started;
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        private volatile long interval;
+        private volatile Throwable lastError;
+
+        private PendingReceipt(String transactionHash, Runnable onPending, long started) {
+            this.transactionHash = transactionHash;
+            this.onPending = onPending;
+            this.started = started;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.web3j.codegen.Console;
 import org.web3j.codegen.SolidityFunctionWrapperGenerator;
 import org.web3j.codegen.TruffleJsonFunctionWrapperGenerator;
 import org.web3j.console.config.CliConfig;
+import org.web3j.console.daemon.Daemon;
 import org.web3j.console.project.ProjectCreator;
 import org.web3j.console.project.ProjectImporter;
 import org.web3j.console.project.UnitTestCreator;
@@ -32,7 +33,7 @@ import static org.web3j.utils.Collection.tail;
 public class Runner {
 
     private static final String USAGE =
-            "Usage: web3j version|wallet|solidity|new|import|generate-tests...";
+            "Usage: web3j version|wallet|solidity|new|import|generate-tests|daemon...";
 
     private static final String LOGO =
             "\n" // generated at http://patorjk.com/software/taag
@@ -45,17 +46,27 @@ public class Runner {
                     + "                         _/ |             \n"
                     + "                        |__/              \n";
 
+    static final String DISABLE_UPDATE_CHECK_ENV = "WEB3J_DISABLE_UPDATE_CHECK";
+
     public static void main(String[] args) throws Exception {
+        int status = run(args);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Runs a command and returns its exit status. Commands that fail deep inside still exit through
+     * {@link Console#exitError(String)}, which the daemon intercepts.
+     */
+    public static int run(String[] args) throws Exception {
         System.out.println(LOGO);
-        CliConfig config = CliConfig.getConfig(CliConfig.getWeb3jConfigPath().toFile());
-        Updater updater = new Updater(config);
-        updater.promptIfUpdateAvailable();
-        Thread updateThread = new Thread(updater::onlineUpdateCheck);
-        updateThread.setDaemon(true);
-        updateThread.start();
+        // the config is only read when the update check runs, scripted runs never touch it
+        CliConfig config = isUpdateCheckEnabled(args) ? startUpdateCheck() : null;
 
         if (args.length < 1) {
-            Console.exitError(USAGE);
+            System.err.println(USAGE);
+            return 1;
         } else {
             switch (args[0]) {
                 case "wallet":
@@ -74,7 +85,7 @@ public class Runner {
                     ProjectImporter.main(tail(args));
                     break;
                 case "version":
-                    Console.exitSuccess(
+                    System.out.println(
                             "Version: "
                                     + Version.getVersion()
                                     + "\n"
@@ -84,10 +95,41 @@ public class Runner {
                 case COMMAND_GENERATE_TESTS:
                     UnitTestCreator.main(tail(args));
                     break;
+                case "daemon":
+                    Daemon.main(tail(args));
+                    break;
                 default:
-                    Console.exitError(USAGE);
+                    System.err.println(USAGE);
+                    return 1;
             }
         }
-        config.save();
+        if (config != null) {
+            config.saveIfChanged();
+        }
+        return 0;
+    }
+
+    /**
+     * Update checks are only made for interactive use, scripts and CI jobs invoking the CLI
+     * repeatedly should not pay for reading the config or contacting the services endpoint.
+     */
+    static boolean isUpdateCheckEnabled(String[] args) {
+        return System.console() != null
+                && Environment.getenv(DISABLE_UPDATE_CHECK_ENV) == null
+                && Environment.getenv("CI") == null
+                && args.length > 0
+                && !args[0].equals("version");
+    }
+
+    private static CliConfig startUpdateCheck() throws Exception {
+        CliConfig config = CliConfig.getConfig(CliConfig.getWeb3jConfigPath().toFile());
+        Updater updater = new Updater(config);
+        updater.promptIfUpdateAvailable();
+        if (updater.isUpdateCheckDue()) {
+            Thread updateThread = new Thread(updater::onlineUpdateCheck, "update-check");
+            updateThread.setDaemon(true);
+            updateThread.start();
+        }
+        return config;
     }
 }
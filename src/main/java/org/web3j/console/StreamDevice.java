@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stream based device used when no console is attached, so that input can be piped in by scripts.
+ * Reaching the end of the input answers every prompt with its default, except for passwords which
+ * have none, so {@link #readPassword} returns null like {@link java.io.Console#readPassword}.
+ */
+public class StreamDevice implements IODevice {
+
+    private final BufferedReader reader;
+    private final PrintStream writer;
+
+    public StreamDevice(InputStream in, PrintStream out) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.writer = out;
+    }
+
+    @Override
+    public void printf(String format, Object... args) {
+        writer.printf(format, args);
+        writer.flush();
+    }
+
+    @Override
+    public String readLine(String fmt, Object... args) {
+        String line = readInput(fmt, args);
+        return line == null ? "" : line;
+    }
+
+    @Override
+    public char[] readPassword(String fmt, Object... args) {
+        String line = readInput(fmt, args);
+        return line == null ? null : line.toCharArray();
+    }
+
+    private String readInput(String fmt, Object... args) {
+        printf(fmt, args);
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.math.BigInteger;
+import java.security.DigestException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.bouncycastle.math.ec.ECPoint;
+
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.Sign;
+import org.web3j.utils.Numeric;
+
+import static org.web3j.codegen.Console.exitError;
+
+/** Searches for a key pair whose address starts and/or ends with the given hex digits. */
+public class VanityGenerator extends WalletManager {
+
+    private static final String USAGE =
+            "vanity [--prefix <hex>] [--suffix <hex>] [--threads <number>] ["
+                    + KdfProfile.USAGE
+                    + "] "
+                    + PASSWORD_USAGE
+                    + " [--destination <directory>]";
+
+    private static final BigInteger CURVE_ORDER = Sign.CURVE_PARAMS.getN();
+    private static final ECPoint GENERATOR = Sign.CURVE_PARAMS.getG();
+
+    // keys are counted in batches so the workers do not contend on the counter
+    private static final int REPORT_INTERVAL = 1024;
+
+    private static final int ADDRESS_OFFSET = 12;
+
+    public VanityGenerator() {}
+
+    public VanityGenerator(IODevice console) {
+        super(console);
+    }
+
+    public static void main(String[] args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        KdfProfile kdfProfile = removeKdfOption(arguments, USAGE);
+        String prefix = removeOption(arguments, "--prefix", USAGE).orElse("");
+        String suffix = removeOption(arguments, "--suffix", USAGE).orElse("");
+        int threads =
+                removeCountOption(
+                        arguments, "--threads", Runtime.getRuntime().availableProcessors(), USAGE);
+        String password =
+                removePasswordOption(arguments, "--password-file", "--password-env", USAGE);
+        Optional<String> destinationDir = removeOption(arguments, "--destination", USAGE);
+        if (!arguments.isEmpty()) {
+            exitError(USAGE);
+        }
+
+        VanityGenerator vanityGenerator = new VanityGenerator();
+        vanityGenerator.setKdfProfile(kdfProfile);
+        vanityGenerator.setNewPassword(password);
+        destinationDir.ifPresent(vanityGenerator::setDestinationDir);
+        vanityGenerator.run(prefix, suffix, threads);
+    }
+
+    static void main(IODevice console, String prefix, String suffix, int threads) {
+        new VanityGenerator(console).run(prefix, suffix, threads);
+    }
+
+    private void run(String prefix, String suffix, int threads) {
+        byte[] prefixDigits = parseDigits(prefix);
+        byte[] suffixDigits = parseDigits(suffix);
+        if (prefixDigits.length == 0 && suffixDigits.length == 0) {
+            exitError("You must provide an address prefix or suffix\n" + USAGE);
+        }
+
+        // ask for everything up front so a long search does not end waiting on input
+        KeyImporter keyImporter = new KeyImporter(console);
+        keyImporter.setKdfProfile(kdfProfile);
+        keyImporter.setNewPassword(getPassword("Please enter a wallet file password: "));
+        keyImporter.setDestinationDir(getDestinationDir());
+
+        console.printf(
+                "Searching for an address matching 0x%s...%s using %d threads "
+                        + "(1 in %.0f keys on average) ...\n",
+                Numeric.cleanHexPrefix(prefix).toLowerCase(),
+                Numeric.cleanHexPrefix(suffix).toLowerCase(),
+                threads,
+                Math.pow(16, prefixDigits.length + suffixDigits.length));
+
+        ECKeyPair ecKeyPair = search(prefixDigits, suffixDigits, threads);
+        console.printf("Found address: %s\n", Keys.toChecksumAddress(Keys.getAddress(ecKeyPair)));
+        keyImporter.createWalletFile(
+                Numeric.toHexStringWithPrefixZeroPadded(
+                        ecKeyPair.getPrivateKey(), Keys.PRIVATE_KEY_LENGTH_IN_HEX));
+    }
+
+    ECKeyPair search(byte[] prefixDigits, byte[] suffixDigits, int threads) {
+        AtomicReference<BigInteger> winner = new AtomicReference<>();
+        LongAdder attempts = new LongAdder();
+        SecureRandom random = new SecureRandom();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                BigInteger start = new BigInteger(256, random).mod(CURVE_ORDER);
+                pool.execute(() -> searchFrom(start, prefixDigits, suffixDigits, winner, attempts));
+            }
+
+            long started = System.nanoTime();
+            while (winner.get() == null) {
+                synchronized (winner) {
+                    if (winner.get() == null) {
+                        winner.wait(TimeUnit.SECONDS.toMillis(1));
+                    }
+                }
+                double seconds = (System.nanoTime() - started) / 1e9;
+                long tried = attempts.sum();
+                console.printf("\r%d keys tried (%.0f keys/sec)", tried, tried / seconds);
+            }
+            console.printf("\n");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitError("Search interrupted");
+        } finally {
+            pool.shutdownNow();
+        }
+        return ECKeyPair.create(winner.get());
+    }
+
+    /**
+     * Walks consecutive private keys from a random start, deriving each public key with a single
+     * point addition rather than a full scalar multiplication.
+     */
+    private static void searchFrom(
+            BigInteger start,
+            byte[] prefixDigits,
+            byte[] suffixDigits,
+            AtomicReference<BigInteger> winner,
+            LongAdder attempts) {
+        Keccak.Digest256 digest = new Keccak.Digest256();
+        byte[] hash = new byte[32];
+
+        BigInteger privateKey = start.signum() == 0 ? BigInteger.ONE : start;
+        ECPoint point = Sign.publicPointFromPrivate(privateKey);
+        long offset = 0;
+        while (winner.get() == null) {
+            for (int i = 0; i < REPORT_INTERVAL; i++) {
+                // uncompressed encoding is 0x04 || x || y, the address hashes x || y
+                byte[] encoded = point.getEncoded(false);
+                digest.update(encoded, 1, encoded.length - 1);
+                try {
+                    digest.digest(hash, 0, hash.length);
+                } catch (DigestException e) {
+                    throw new IllegalStateException(e);
+                }
+                if (matches(hash, prefixDigits, suffixDigits)) {
+                    synchronized (winner) {
+                        winner.compareAndSet(
+                                null, privateKey.add(BigInteger.valueOf(offset)).mod(CURVE_ORDER));
+                        winner.notifyAll();
+                    }
+                    return;
+                }
+                point = point.add(GENERATOR).normalize();
+                offset++;
+            }
+            attempts.add(REPORT_INTERVAL);
+        }
+    }
+
+    /** Compares hex digits against the last 20 bytes of the hash without building a string. */
+    static boolean matches(byte[] hash, byte[] prefixDigits, byte[] suffixDigits) {
+        for (int i = 0; i < prefixDigits.length; i++) {
+            if (digitAt(hash, i) != prefixDigits[i]) {
+                return false;
+            }
+        }
+        int last = 2 * (hash.length - ADDRESS_OFFSET) - 1;
+        for (int i = 0; i < suffixDigits.length; i++) {
+            if (digitAt(hash, last - i) != suffixDigits[suffixDigits.length - 1 - i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digitAt(byte[] hash, int index) {
+        int value = hash[ADDRESS_OFFSET + index / 2];
+        return (index & 1) == 0 ? (value >> 4) & 0xf : value & 0xf;
+    }
+
+    static byte[] parseDigits(String hex) {
+        String digits = Numeric.cleanHexPrefix(hex);
+        if (digits.length() > 2 * (32 - ADDRESS_OFFSET)) {
+            exitError("Address pattern is longer than an address: " + hex);
+        }
+        byte[] values = new byte[digits.length()];
+        for (int i = 0; i < digits.length(); i++) {
+            int value = Character.digit(digits.charAt(i), 16);
+            if (value < 0) {
+                exitError("Invalid hex digit in address pattern: " + hex);
+            }
+            values[i] = (byte) value;
+        }
+        return values;
+    }
+}
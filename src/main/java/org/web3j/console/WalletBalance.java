@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.web3j.crypto.WalletUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+import org.web3j.utils.Convert;
+import org.web3j.utils.Numeric;
+
+import static org.web3j.codegen.Console.exitError;
+
+/** Prints the balances of many addresses using JSON-RPC batch requests. */
+public class WalletBalance extends WalletManager {
+
+    private static final String USAGE =
+            "balance <address>|<keystore directory>... [--file <address list file>]"
+                    + " [--batch-size <number>] [--concurrency <number>] [--node <url>]";
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int DEFAULT_CONCURRENCY = 4;
+
+    public WalletBalance() {}
+
+    public WalletBalance(IODevice console) {
+        super(console);
+    }
+
+    public static void main(String[] args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        Optional<String> addressFile = removeOption(arguments, "--file", USAGE);
+        int batchSize = removeCountOption(arguments, "--batch-size", DEFAULT_BATCH_SIZE, USAGE);
+        int concurrency = removeCountOption(arguments, "--concurrency", DEFAULT_CONCURRENCY, USAGE);
+        Optional<String> nodeUrl = removeOption(arguments, "--node", USAGE);
+        if (arguments.isEmpty() && !addressFile.isPresent()) {
+            exitError(USAGE);
+        }
+
+        WalletBalance walletBalance = new WalletBalance();
+        try {
+            List<String> addresses = walletBalance.getAddresses(arguments, addressFile);
+            walletBalance.run(
+                    EthereumClientFactory.getClient(nodeUrl.orElse(null)),
+                    addresses,
+                    batchSize,
+                    concurrency);
+        } finally {
+            EthereumClientFactory.shutdown();
+        }
+    }
+
+    static void main(
+            IODevice console, Web3j web3j, List<String> addresses, int batchSize, int concurrency) {
+        new WalletBalance(console).run(web3j, addresses, batchSize, concurrency);
+    }
+
+    private List<String> getAddresses(List<String> arguments, Optional<String> addressFile) {
+        Set<String> addresses = new LinkedHashSet<>();
+        for (String argument : arguments) {
+            File directory = new File(argument);
+            if (directory.isDirectory()) {
+                try {
+                    addresses.addAll(KeystoreIndex.forDirectory(directory).getAddresses());
+                } catch (IOException e) {
+                    exitError("Unable to index keystore directory: " + directory);
+                }
+            } else {
+                addresses.add(argument);
+            }
+        }
+        if (addressFile.isPresent()) {
+            try {
+                for (String line :
+                        Files.readAllLines(
+                                new File(addressFile.get()).toPath(), StandardCharsets.UTF_8)) {
+                    if (!line.trim().isEmpty()) {
+                        addresses.add(line.trim());
+                    }
+                }
+            } catch (IOException e) {
+                exitError("Unable to read address list file: " + addressFile.get());
+            }
+        }
+
+        List<String> normalized = new ArrayList<>(addresses.size());
+        for (String address : addresses) {
+            if (!WalletUtils.isValidAddress(address)) {
+                exitError("Invalid address specified: " + address);
+            }
+            normalized.add(Numeric.prependHexPrefix(address).toLowerCase());
+        }
+        return normalized;
+    }
+
+    private void run(Web3j web3j, List<String> addresses, int batchSize, int concurrency) {
+        int batches = (addresses.size() + batchSize - 1) / batchSize;
+        console.printf(
+                "Fetching %d balances in %d batches using %d connections ...\n",
+                addresses.size(), batches, concurrency);
+        long start = System.nanoTime();
+
+        Map<String, EthGetBalance> balances = getBalances(web3j, addresses, batchSize, concurrency);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        BigInteger total = BigInteger.ZERO;
+        int failed = 0;
+        for (String address : addresses) {
+            EthGetBalance balance = balances.get(address);
+            if (balance == null || balance.hasError()) {
+                failed++;
+                console.printf(
+                        "%s failed: %s\n",
+                        address, balance == null ? "no response" : balance.getError().getMessage());
+            } else {
+                total = total.add(balance.getBalance());
+                console.printf("%s %s ether\n", address, toEther(balance.getBalance()));
+            }
+        }
+
+        console.printf(
+                "Total of %d balances: %s ether (%d failed, %.2f seconds)\n",
+                addresses.size() - failed, toEther(total), failed, seconds);
+    }
+
+    /** Fetches balances in batches, sending up to the given number of batches at once. */
+    Map<String, EthGetBalance> getBalances(
+            Web3j web3j, List<String> addresses, int batchSize, int concurrency) {
+        List<Callable<Map<String, EthGetBalance>>> tasks = new ArrayList<>();
+        for (int from = 0; from < addresses.size(); from += batchSize) {
+            List<String> batch =
+                    addresses.subList(from, Math.min(from + batchSize, addresses.size()));
+            tasks.add(() -> sendBatch(web3j, batch));
+        }
+
+        Map<String, EthGetBalance> balances = new HashMap<>();
+        for (Future<Map<String, EthGetBalance>> result : invokeAll(tasks, concurrency)) {
+            try {
+                balances.putAll(result.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exitError("Wallet processing was interrupted");
+            } catch (ExecutionException e) {
+                console.printf("Balance request failed: %s\n", e.getCause().getMessage());
+            }
+        }
+        return balances;
+    }
+
+    private static Map<String, EthGetBalance> sendBatch(Web3j web3j, List<String> addresses)
+            throws IOException {
+        BatchRequest batchRequest = web3j.newBatch();
+        Map<Long, String> addressesById = new HashMap<>();
+        for (String address : addresses) {
+            Request<?, EthGetBalance> request =
+                    web3j.ethGetBalance(address, DefaultBlockParameterName.LATEST);
+            addressesById.put(request.getId(), address);
+            batchRequest.add(request);
+        }
+
+        // nodes may answer a batch in any order, so responses are matched by their id
+        BatchResponse batchResponse = batchRequest.send();
+        Map<String, EthGetBalance> balances = new HashMap<>();
+        for (Response<?> response : batchResponse.getResponses()) {
+            String address = addressesById.get(response.getId());
+            if (address != null && response instanceof EthGetBalance) {
+                balances.put(address, (EthGetBalance) response);
+            }
+        }
+        return balances;
+    }
+
+    private static String toEther(BigInteger wei) {
+        return Convert.fromWei(new BigDecimal(wei), Convert.Unit.ETHER)
+                .stripTrailingZeros()
+                .toPlainString();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+
+import static org.web3j.codegen.Console.exitError;
+
+/**
+ * Submits the raw transactions written by {@link WalletSigner}. Several accounts are sent from at a
+ * time, but each account's transactions are sent one after another in nonce order.
+ */
+public class WalletBroadcaster extends WalletManager {
+
+    private static final String USAGE =
+            "broadcast <signed transactions file> [--concurrency <number>] [--node <url>]";
+
+    private static final int DEFAULT_CONCURRENCY = 16;
+
+    public WalletBroadcaster() {}
+
+    public WalletBroadcaster(IODevice console) {
+        super(console);
+    }
+
+    public static void main(String[] args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        int concurrency = removeCountOption(arguments, "--concurrency", DEFAULT_CONCURRENCY, USAGE);
+        Optional<String> nodeUrl = removeOption(arguments, "--node", USAGE);
+        if (arguments.size() != 1) {
+            exitError(USAGE);
+        }
+
+        WalletBroadcaster walletBroadcaster = new WalletBroadcaster();
+        nodeUrl.ifPresent(walletBroadcaster::setNodeUrl);
+        try {
+            walletBroadcaster.run(
+                    walletBroadcaster.getEthereumClient(), arguments.get(0), concurrency);
+        } finally {
+            EthereumClientFactory.shutdown();
+        }
+    }
+
+    static void main(IODevice console, Web3j web3j, String transactionsFile, int concurrency) {
+        new WalletBroadcaster(console).run(web3j, transactionsFile, concurrency);
+    }
+
+    private void run(Web3j web3j, String transactionsFile, int concurrency) {
+        Map<String, List<SignedTransaction>> transactionsBySender = new LinkedHashMap<>();
+        int total = 0;
+
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                new FileInputStream(transactionsFile), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String signedTransaction = line.trim();
+                if (signedTransaction.isEmpty() || signedTransaction.startsWith("#")) {
+                    continue;
+                }
+                total++;
+                try {
+                    SignedRawTransaction transaction =
+                            (SignedRawTransaction) TransactionDecoder.decode(signedTransaction);
+                    transactionsBySender
+                            .computeIfAbsent(transaction.getFrom(), from -> new ArrayList<>())
+                            .add(
+                                    new SignedTransaction(
+                                            lineNumber, transaction.getNonce(), signedTransaction));
+                } catch (RuntimeException | SignatureException e) {
+                    console.printf("Line %d: failed, not a signed transaction\n", lineNumber);
+                }
+            }
+        } catch (IOException e) {
+            exitError("Unable to read signed transactions file: " + transactionsFile);
+        }
+
+        AtomicInteger submitted = new AtomicInteger();
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        transactionsBySender.forEach(
+                (sender, transactions) -> {
+                    transactions.sort(Comparator.comparing(transaction -> transaction.nonce));
+                    executor.execute(() -> submitInOrder(web3j, sender, transactions, submitted));
+                });
+        awaitCompletion(executor);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        console.printf(
+                "%d of %d transactions successfully submitted (%.2f tx/sec)\n",
+                submitted.get(), total, submitted.get() / seconds);
+    }
+
+    /**
+     * Submits one account's transactions in nonce order, stopping at the first one rejected, as
+     * none of the later nonces can be mined without it.
+     */
+    private void submitInOrder(
+            Web3j web3j,
+            String sender,
+            List<SignedTransaction> transactions,
+            AtomicInteger submitted) {
+        for (int i = 0; i < transactions.size(); i++) {
+            SignedTransaction transaction = transactions.get(i);
+            String error;
+            try {
+                EthSendTransaction response =
+                        web3j.ethSendRawTransaction(transaction.signedTransaction).send();
+                if (!response.hasError()) {
+                    submitted.incrementAndGet();
+                    console.printf(
+                            "Line %d: transaction hash %s\n",
+                            transaction.lineNumber, response.getTransactionHash());
+                    continue;
+                }
+                error = response.getError().getMessage();
+            } catch (IOException e) {
+                error = e.getMessage();
+            }
+            console.printf("Line %d: failed, %s\n", transaction.lineNumber, error);
+            console.printf(
+                    "Stopped sending from %s, first nonce not sent is %s (%d transactions not sent)\n",
+                    sender, transaction.nonce, transactions.size() - i);
+            return;
+        }
+    }
+
+    private static class SignedTransaction {
+        private final int lineNumber;
+        private final BigInteger nonce;
+        private final String signedTransaction;
+
+        private SignedTransaction(int lineNumber, BigInteger nonce, String signedTransaction) {
+            this.lineNumber = lineNumber;
+            this.nonce = nonce;
+            this.signedTransaction = signedTransaction;
+        }
+    }
+}
@@ -17,14 +17,30 @@ import java.io.IOException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.web3j.codegen.Console;
 import org.web3j.crypto.CipherException;
-import org.web3j.crypto.WalletUtils;
+import org.web3j.crypto.Keys;
+
+import static org.web3j.codegen.Console.exitError;
 
 /** Simple class for creating a wallet file. */
 public class WalletCreator extends WalletManager {
 
+    private static final String USAGE =
+            "create [--count <number>] [--threads <number>] ["
+                    + KdfProfile.USAGE
+                    + "] "
+                    + PASSWORD_USAGE
+                    + " [--destination <directory>]";
+
     public WalletCreator() {}
 
     public WalletCreator(IODevice console) {
@@ -32,20 +48,47 @@ public class WalletCreator extends WalletManager {
     }
 
     public static void main(String[] args) {
-        new WalletCreator().run();
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        KdfProfile kdfProfile = removeKdfOption(arguments, USAGE);
+        int count = removeCountOption(arguments, "--count", 1, USAGE);
+        int threads =
+                removeCountOption(arguments, "--threads", getDefaultThreads(kdfProfile), USAGE);
+        String password =
+                removePasswordOption(arguments, "--password-file", "--password-env", USAGE);
+        Optional<String> destinationDir = removeOption(arguments, "--destination", USAGE);
+        if (!arguments.isEmpty()) {
+            exitError(USAGE);
+        }
+
+        WalletCreator walletCreator = new WalletCreator();
+        walletCreator.setKdfProfile(kdfProfile);
+        walletCreator.setNewPassword(password);
+        destinationDir.ifPresent(walletCreator::setDestinationDir);
+        if (count == 1) {
+            walletCreator.run();
+        } else {
+            walletCreator.run(count, threads);
+        }
     }
 
     static void main(IODevice console) {
         new WalletCreator(console).run();
     }
 
+    static void main(IODevice console, KdfProfile kdfProfile, int count, int threads) {
+        WalletCreator walletCreator = new WalletCreator(console);
+        walletCreator.setKdfProfile(kdfProfile);
+        walletCreator.run(count, threads);
+    }
+
     private void run() {
         String password = getPassword("Please enter a wallet file password: ");
         String destinationDir = getDestinationDir();
         File destination = createDir(destinationDir);
 
         try {
-            String walletFileName = WalletUtils.generateFullNewWalletFile(password, destination);
+            String walletFileName =
+                    generateWalletFile(password, Keys.createEcKeyPair(), destination);
             console.printf(
                     "Wallet file "
                             + walletFileName
@@ -60,4 +103,35 @@ public class WalletCreator extends WalletManager {
             Console.exitError(e);
         }
     }
+
+    private void run(int count, int threads) {
+        String password = getPassword("Please enter a wallet file password: ");
+        String destinationDir = getDestinationDir();
+        File destination = createDir(destinationDir);
+
+        console.printf(
+                "Creating %d wallet files with %s key derivation using %d threads ...\n",
+                count, kdfProfile, threads);
+        long start = System.nanoTime();
+
+        List<Callable<String>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(() -> kdfProfile.generateNewWalletFile(password, destination));
+        }
+
+        int created = 0;
+        for (Future<String> result : invokeAll(tasks, threads)) {
+            try {
+                result.get();
+                created++;
+            } catch (InterruptedException | ExecutionException e) {
+                console.printf("Unable to create wallet file: %s\n", e.getMessage());
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        console.printf(
+                "%d wallet files successfully created in: %s (%.2f wallets/sec)\n",
+                created, destinationDir, created / seconds);
+    }
 }
@@ -12,28 +12,55 @@
  */
 package org.web3j.console;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.web3j.crypto.CipherException;
 import org.web3j.crypto.Credentials;
+import org.web3j.crypto.ECKeyPair;
 import org.web3j.crypto.WalletUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+import org.web3j.protocol.http.HttpService;
 
 import static org.web3j.codegen.Console.exitError;
 
 /** Common functions used by the wallet console tools. */
 abstract class WalletManager {
 
+    static final String PASSWORD_USAGE = "[--password-file <file>|--password-env <variable>]";
+
     final IODevice console;
+    KdfProfile kdfProfile = KdfProfile.STANDARD;
+    private String password;
+    private String newPassword;
+    private boolean assumeYes;
+    private String destinationDir;
+    private String keystoreDir;
+    private String nodeUrl;
+    // disabled unless a time to live is configured
+    private CredentialCache credentialCache = CredentialCache.fromEnvironment();
 
     WalletManager() {
-        console = new ConsoleDevice();
-
-        if (console == null) {
-            exitError(
-                    "Unable to access console - please ensure you are running "
-                            + "from the command line");
+        if (System.console() != null) {
+            console = new ConsoleDevice();
+        } else {
+            console = new StreamDevice(System.in, System.out);
         }
     }
 
@@ -42,9 +69,12 @@ abstract class WalletManager {
     }
 
     String getPassword(String initialPrompt) {
+        if (newPassword != null) {
+            return newPassword;
+        }
         while (true) {
-            char[] input1 = console.readPassword(initialPrompt);
-            char[] input2 = console.readPassword("Please re-enter the password: ");
+            char[] input1 = readPassword(initialPrompt);
+            char[] input2 = readPassword("Please re-enter the password: ");
 
             if (Arrays.equals(input1, input2)) {
                 return new String(input1);
@@ -54,7 +84,39 @@ abstract class WalletManager {
         }
     }
 
+    String getExistingPassword() {
+        if (password != null) {
+            return password;
+        }
+        return new String(readPassword("Please enter your existing wallet file password: "));
+    }
+
+    /** Reads a password, exiting once the input is exhausted rather than using an empty one. */
+    private char[] readPassword(String prompt) {
+        if (Environment.isRemoteTerminal()) {
+            // the daemon reads its input from the launcher, which cannot turn off echo
+            exitError("Password prompts are not supported by the daemon, use " + PASSWORD_USAGE);
+        }
+        char[] input = console.readPassword(prompt);
+        if (input == null) {
+            exitError("No password provided");
+        }
+        return input;
+    }
+
+    /** Returns true if the answer to the prompt matches the expected one, or --yes was given. */
+    boolean confirm(String expected, String prompt, Object... args) {
+        if (assumeYes) {
+            console.printf(prompt + expected + "\n", args);
+            return true;
+        }
+        return console.readLine(prompt, args).trim().equalsIgnoreCase(expected);
+    }
+
     String getDestinationDir() {
+        if (destinationDir != null) {
+            return destinationDir;
+        }
         String defaultDir = WalletUtils.getTestnetKeyDirectory();
         String destinationDir =
                 console.readLine(
@@ -86,6 +148,60 @@ abstract class WalletManager {
         return destination;
     }
 
+    /**
+     * Returns the wallet file at the given location, or if it is an address, the wallet file for it
+     * in the keystore directory.
+     */
+    File getWalletFile(String walletFileLocation) {
+        File walletFile = new File(walletFileLocation);
+        if (walletFile.exists() || !WalletUtils.isValidAddress(walletFileLocation)) {
+            return walletFile;
+        }
+
+        File directory =
+                new File(keystoreDir != null ? keystoreDir : WalletUtils.getTestnetKeyDirectory());
+        try {
+            Optional<File> indexed = KeystoreIndex.forDirectory(directory).find(walletFileLocation);
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+        } catch (IOException e) {
+            exitError("Unable to index keystore directory: " + directory + "\n" + e.getMessage());
+        }
+        exitError("No wallet file found for address " + walletFileLocation + " in: " + directory);
+        throw new RuntimeException("Application exit failure");
+    }
+
+    Web3j getEthereumClient() {
+        String clientAddress =
+                nodeUrl != null
+                        ? nodeUrl
+                        : console.readLine(
+                                        "Please confirm address of running Ethereum client you wish to send "
+                                                + "the transfer request to ["
+                                                + HttpService.DEFAULT_URL
+                                                + "]: ")
+                                .trim();
+
+        Web3j web3j = EthereumClientFactory.getClient(clientAddress);
+
+        try {
+            Web3ClientVersion web3ClientVersion = web3j.web3ClientVersion().sendAsync().get();
+            if (web3ClientVersion.hasError()) {
+                exitError(
+                        "Unable to process response from client: " + web3ClientVersion.getError());
+            } else {
+                console.printf(
+                        "Connected successfully to client: %s%n",
+                        web3ClientVersion.getWeb3ClientVersion());
+                return web3j;
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            exitError("Problem encountered verifying client: " + e.getMessage());
+        }
+        throw new RuntimeException("Application exit failure");
+    }
+
     Credentials getCredentials(File walletFile) {
         if (!walletFile.exists() || !walletFile.isFile()) {
             exitError("Unable to read wallet file: " + walletFile);
@@ -95,16 +211,191 @@ abstract class WalletManager {
 
     private Credentials loadWalletFile(File walletFile) {
         while (true) {
-            char[] password =
-                    console.readPassword("Please enter your existing wallet file password: ");
-            String currentPassword = new String(password);
+            String currentPassword = getExistingPassword();
             try {
-                return WalletUtils.loadCredentials(currentPassword, walletFile);
+                if (credentialCache != null) {
+                    Optional<Credentials> cached = credentialCache.get(walletFile, currentPassword);
+                    if (cached.isPresent()) {
+                        return cached.get();
+                    }
+                }
+                Credentials credentials = WalletUtils.loadCredentials(currentPassword, walletFile);
+                if (credentialCache != null) {
+                    credentialCache.put(walletFile, currentPassword, credentials);
+                }
+                return credentials;
             } catch (CipherException e) {
+                if (password != null) {
+                    exitError("Invalid password specified");
+                }
                 console.printf("Invalid password specified\n");
             } catch (IOException e) {
                 exitError("Unable to load wallet file: " + walletFile + "\n" + e.getMessage());
             }
         }
     }
+
+    void setPassword(String password) {
+        this.password = password;
+    }
+
+    void setNewPassword(String newPassword) {
+        this.newPassword = newPassword;
+    }
+
+    void setAssumeYes(boolean assumeYes) {
+        this.assumeYes = assumeYes;
+    }
+
+    void setDestinationDir(String destinationDir) {
+        this.destinationDir = destinationDir;
+    }
+
+    void setNodeUrl(String nodeUrl) {
+        this.nodeUrl = nodeUrl;
+    }
+
+    void setKeystoreDir(String keystoreDir) {
+        this.keystoreDir = keystoreDir;
+    }
+
+    void setCredentialCache(CredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
+    void setKdfProfile(KdfProfile kdfProfile) {
+        this.kdfProfile = kdfProfile;
+    }
+
+    String generateWalletFile(String password, ECKeyPair ecKeyPair, File destination)
+            throws CipherException, IOException {
+        long start = System.nanoTime();
+        String walletFileName = kdfProfile.generateWalletFile(password, ecKeyPair, destination);
+        console.printf(
+                "Wallet file encrypted using %s key derivation in %d ms\n",
+                kdfProfile, (System.nanoTime() - start) / 1_000_000);
+        return walletFileName;
+    }
+
+    static int getDefaultThreads(KdfProfile kdfProfile) {
+        long memoryBound = Math.max(1, Runtime.getRuntime().maxMemory() / kdfProfile.getMemory());
+        return (int) Math.min(Runtime.getRuntime().availableProcessors(), memoryBound);
+    }
+
+    static Optional<String> removeOption(List<String> args, String name, String usage) {
+        int index = args.indexOf(name);
+        if (index < 0) {
+            return Optional.empty();
+        } else if (index == args.size() - 1) {
+            exitError(usage);
+        }
+        args.remove(index);
+        return Optional.of(args.remove(index));
+    }
+
+    static int removeCountOption(List<String> args, String name, int defaultValue, String usage) {
+        Optional<String> value = removeOption(args, name, usage);
+        try {
+            int count = value.map(Integer::parseInt).orElse(defaultValue);
+            if (count > 0) {
+                return count;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the usage error below
+        }
+        exitError(usage);
+        throw new RuntimeException("Application exit failure");
+    }
+
+    /**
+     * Removes a password given either as the first line of a file or through an environment
+     * variable, so that it does not need to be typed in.
+     */
+    static String removePasswordOption(
+            List<String> args, String fileOption, String envOption, String usage) {
+        Optional<String> passwordFile = removeOption(args, fileOption, usage);
+        Optional<String> passwordEnv = removeOption(args, envOption, usage);
+        if (passwordFile.isPresent() && passwordEnv.isPresent()) {
+            exitError(usage);
+        } else if (passwordFile.isPresent()) {
+            try (BufferedReader reader =
+                    new BufferedReader(
+                            new InputStreamReader(
+                                    new FileInputStream(passwordFile.get()),
+                                    StandardCharsets.UTF_8))) {
+                String password = reader.readLine();
+                return password == null ? "" : password;
+            } catch (IOException e) {
+                exitError("Unable to read password file: " + passwordFile.get());
+            }
+        } else if (passwordEnv.isPresent()) {
+            String password = Environment.getenv(passwordEnv.get());
+            if (password == null) {
+                exitError("Environment variable " + passwordEnv.get() + " is not set");
+            }
+            return password;
+        }
+        return null;
+    }
+
+    static KdfProfile removeKdfOption(List<String> args, String usage) {
+        Optional<String> value = removeOption(args, "--kdf", usage);
+        try {
+            return value.map(KdfProfile::parse).orElse(KdfProfile.STANDARD);
+        } catch (IllegalArgumentException e) {
+            exitError(e.getMessage() + "\n" + usage);
+        }
+        throw new RuntimeException("Application exit failure");
+    }
+
+    static GasPriceStrategy removeGasPriceOption(List<String> args, String usage) {
+        Optional<String> value = removeOption(args, "--gas-price", usage);
+        try {
+            return value.map(GasPriceStrategy::parse)
+                    .orElseGet(
+                            () ->
+                                    GasPriceStrategy.nodeSuggested(
+                                            GasPriceStrategy.DEFAULT_TTL_SECONDS,
+                                            TimeUnit.SECONDS));
+        } catch (IllegalArgumentException e) {
+            exitError(e.getMessage() + "\n" + usage);
+        }
+        throw new RuntimeException("Application exit failure");
+    }
+
+    <T> List<Future<T>> invokeAll(List<Callable<T>> tasks, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitError("Wallet processing was interrupted");
+        } finally {
+            executor.shutdownNow();
+        }
+        throw new RuntimeException("Application exit failure");
+    }
+
+    static ExecutorService newBoundedExecutor(int threads) {
+        // callers block by running work themselves once the queue is full, which keeps
+        // streaming producers from reading ahead of the workers
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(threads * 2),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    void awaitCompletion(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            exitError("Wallet processing was interrupted");
+        }
+    }
 }
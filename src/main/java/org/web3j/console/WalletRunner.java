@@ -18,7 +18,8 @@ import static org.web3j.utils.Collection.tail;
 
 /** Class for managing our wallet command line utilities. */
 public class WalletRunner {
-    private static final String USAGE = "wallet create|update|send|fromkey";
+    private static final String USAGE =
+            "wallet create|update|send|sign|broadcast|fromkey|vanity|balance";
 
     public static void run(String[] args) {
         main(args);
@@ -30,7 +31,7 @@ public class WalletRunner {
         } else {
             switch (args[0]) {
                 case "create":
-                    WalletCreator.main(new String[] {});
+                    WalletCreator.main(tail(args));
                     break;
                 case "update":
                     WalletUpdater.main(tail(args));
@@ -38,9 +39,21 @@ public class WalletRunner {
                 case "send":
                     WalletSendFunds.main(tail(args));
                     break;
+                case "sign":
+                    WalletSigner.main(tail(args));
+                    break;
+                case "broadcast":
+                    WalletBroadcaster.main(tail(args));
+                    break;
                 case "fromkey":
                     KeyImporter.main(tail(args));
                     break;
+                case "vanity":
+                    VanityGenerator.main(tail(args));
+                    break;
+                case "balance":
+                    WalletBalance.main(tail(args));
+                    break;
                 default:
                     Console.exitError(USAGE);
             }
@@ -15,20 +15,33 @@ package org.web3j.console;
 import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.web3j.crypto.Credentials;
 import org.web3j.crypto.WalletUtils;
 import org.web3j.ens.EnsResolver;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
-import org.web3j.protocol.core.methods.response.Web3ClientVersion;
-import org.web3j.protocol.exceptions.TransactionException;
-import org.web3j.protocol.http.HttpService;
-import org.web3j.protocol.infura.InfuraHttpService;
-import org.web3j.protocol.nodesmith.NodesmithHttpService;
+import org.web3j.tx.ChainIdLong;
+import org.web3j.tx.RawTransactionManager;
+import org.web3j.tx.TransactionManager;
 import org.web3j.tx.Transfer;
+import org.web3j.tx.response.NoOpProcessor;
 import org.web3j.utils.Convert;
 
 import static org.web3j.codegen.Console.exitError;
@@ -36,18 +49,63 @@ import static org.web3j.codegen.Console.exitError;
 /** Simple class for creating a wallet file. */
 class WalletSendFunds extends WalletManager {
 
-    private static final String USAGE = "send <walletfile> <destination-address>";
+    private static final String USAGE =
+            "send <walletfile>|<address> <destination-address> [--amount <value> [--unit <unit>]]"
+                    + "|--batch <payouts csv file> "
+                    + PASSWORD_USAGE
+                    + " ["
+                    + GasPriceStrategy.USAGE
+                    + "] [--ens-cache] [--keystore <directory>] [--node <url>] [--yes]";
+
+    private String amount;
+    private String unit;
+    private EnsNameCache ensNameCache = EnsNameCache.create(false);
+    private GasPriceStrategy gasPriceStrategy =
+            GasPriceStrategy.nodeSuggested(GasPriceStrategy.DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+
+    WalletSendFunds() {}
+
+    WalletSendFunds(IODevice console) {
+        super(console);
+    }
 
     public static void main(String[] args) {
-        if (args.length != 2) {
-            exitError(USAGE);
-        } else {
-            new WalletSendFunds().run(args[0], args[1]);
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        Optional<String> payoutsFile = removeOption(arguments, "--batch", USAGE);
+        Optional<String> amount = removeOption(arguments, "--amount", USAGE);
+        Optional<String> unit = removeOption(arguments, "--unit", USAGE);
+        Optional<String> nodeUrl = removeOption(arguments, "--node", USAGE);
+        Optional<String> keystoreDir = removeOption(arguments, "--keystore", USAGE);
+        GasPriceStrategy gasPriceStrategy = removeGasPriceOption(arguments, USAGE);
+        String password =
+                removePasswordOption(arguments, "--password-file", "--password-env", USAGE);
+        boolean assumeYes = arguments.remove("--yes");
+        boolean persistEnsCache = arguments.remove("--ens-cache");
+
+        WalletSendFunds walletSendFunds = new WalletSendFunds();
+        walletSendFunds.setPassword(password);
+        walletSendFunds.setAssumeYes(assumeYes);
+        keystoreDir.ifPresent(walletSendFunds::setKeystoreDir);
+        walletSendFunds.amount = amount.orElse(null);
+        walletSendFunds.unit = unit.orElse(null);
+        walletSendFunds.gasPriceStrategy = gasPriceStrategy;
+        walletSendFunds.ensNameCache = EnsNameCache.create(persistEnsCache);
+        nodeUrl.ifPresent(walletSendFunds::setNodeUrl);
+        try {
+            if (payoutsFile.isPresent() && arguments.size() == 1) {
+                walletSendFunds.runBatch(arguments.get(0), payoutsFile.get());
+            } else if (payoutsFile.isPresent() || arguments.size() != 2) {
+                exitError(USAGE);
+            } else {
+                walletSendFunds.run(arguments.get(0), arguments.get(1));
+            }
+        } finally {
+            EthereumClientFactory.shutdown();
         }
     }
 
     private void run(String walletFileLocation, String destinationAddress) {
-        File walletFile = new File(walletFileLocation);
+        File walletFile = getWalletFile(walletFileLocation);
         Credentials credentials = getCredentials(walletFile);
         console.printf("Wallet for address " + credentials.getAddress() + " loaded\n");
 
@@ -57,6 +115,9 @@ class WalletSendFunds extends WalletManager {
         }
 
         Web3j web3j = getEthereumClient();
+        if (!WalletUtils.isValidAddress(destinationAddress)) {
+            destinationAddress = resolveEnsName(web3j, destinationAddress);
+        }
 
         BigDecimal amountToTransfer = getAmountToTransfer();
         Convert.Unit transferUnit = getTransferUnit();
@@ -76,12 +137,195 @@ class WalletSendFunds extends WalletManager {
                 transactionReceipt.getBlockNumber());
     }
 
+    private void runBatch(String walletFileLocation, String payoutsFileLocation) {
+        List<Payout> payouts = readPayouts(payoutsFileLocation);
+
+        File walletFile = getWalletFile(walletFileLocation);
+        Credentials credentials = getCredentials(walletFile);
+        console.printf("Wallet for address " + credentials.getAddress() + " loaded\n");
+
+        Web3j web3j = getEthereumClient();
+
+        confirmBatchTransfer(payouts);
+        payouts = resolveEnsNames(web3j, payouts, ensNameCache);
+
+        List<String> transactionHashes = submitTransfers(web3j, credentials, payouts);
+        List<Payout> unsent = payouts.subList(transactionHashes.size(), payouts.size());
+        if (!unsent.isEmpty()) {
+            console.printf("%d transfers were not sent:%n", unsent.size());
+            for (Payout payout : unsent) {
+                console.printf("%s%n", payout);
+            }
+        }
+
+        console.printf(
+                "Submitted %d transfers, waiting for them to be mined "
+                        + "(this may take a few minutes)%n",
+                transactionHashes.size());
+        int completed = 0;
+        try (ReceiptTracker receiptTracker = ReceiptTracker.polling(web3j)) {
+            List<CompletableFuture<TransactionReceipt>> receipts =
+                    receiptTracker.trackInNonceOrder(transactionHashes);
+            for (int i = 0; i < receipts.size(); i++) {
+                try {
+                    TransactionReceipt receipt = receipts.get(i).join();
+                    completed++;
+                    console.printf(
+                            "%s: transaction hash %s, mined block number %s%n",
+                            payouts.get(i), receipt.getTransactionHash(), receipt.getBlockNumber());
+                } catch (CompletionException e) {
+                    console.printf("%s: failed, %s%n", payouts.get(i), e.getCause().getMessage());
+                }
+            }
+        }
+
+        console.printf(
+                "%d of %d transfers from %s completed successfully%n",
+                completed, payouts.size(), credentials.getAddress());
+    }
+
+    static List<Payout> readPayouts(String payoutsFileLocation) {
+        List<Payout> payouts = null;
+        try {
+            payouts = Payout.readPayouts(new File(payoutsFileLocation));
+        } catch (IOException e) {
+            exitError("Unable to read payouts file: " + payoutsFileLocation);
+        } catch (IllegalArgumentException e) {
+            exitError(e.getMessage());
+        }
+        if (payouts.isEmpty()) {
+            exitError("No payouts found in: " + payoutsFileLocation);
+        }
+        return payouts;
+    }
+
+    private void confirmBatchTransfer(List<Payout> payouts) {
+        BigInteger totalInWei = BigInteger.ZERO;
+        for (Payout payout : payouts) {
+            totalInWei = totalInWei.add(payout.getAmountInWei());
+        }
+
+        console.printf(
+                "Please confim that you wish to make %d transfers totalling %s %s (%s %s)%n",
+                payouts.size(),
+                Convert.fromWei(new BigDecimal(totalInWei), Convert.Unit.ETHER)
+                        .stripTrailingZeros()
+                        .toPlainString(),
+                Convert.Unit.ETHER,
+                totalInWei,
+                Convert.Unit.WEI);
+        if (!confirm("yes", "Please type 'yes' to proceed: ")) {
+            exitError("OK, some other time perhaps...");
+        }
+    }
+
+    /** Resolves the distinct ENS names of a batch up front, reusing cached resolutions. */
+    static List<Payout> resolveEnsNames(
+            Web3j web3j, List<Payout> payouts, EnsNameCache ensNameCache) {
+        Set<String> names = new HashSet<>();
+        for (Payout payout : payouts) {
+            if (!WalletUtils.isValidAddress(payout.getDestination())) {
+                names.add(payout.getDestination());
+            }
+        }
+
+        Map<String, String> resolved = new HashMap<>();
+        try {
+            resolved = ensNameCache.resolveAll(names, name -> new EnsResolver(web3j).resolve(name));
+        } catch (IllegalStateException e) {
+            exitError(e.getMessage());
+        }
+
+        List<Payout> result = new ArrayList<>(payouts.size());
+        for (Payout payout : payouts) {
+            String address = resolved.get(payout.getDestination());
+            result.add(address == null ? payout : payout.withDestination(address));
+        }
+        return result;
+    }
+
+    private String resolveEnsName(Web3j web3j, String name) {
+        try {
+            String address =
+                    ensNameCache
+                            .resolveAll(
+                                    Collections.singleton(name),
+                                    ensName -> new EnsResolver(web3j).resolve(ensName))
+                            .get(name);
+            console.printf("Resolved %s to %s%n", name, address);
+            return address;
+        } catch (IllegalStateException e) {
+            exitError(e.getMessage());
+        }
+        throw new RuntimeException("Application exit failure");
+    }
+
+    /**
+     * Signs every transfer locally with consecutive nonces, starting from the account's pending
+     * nonce, and submits them one at a time in nonce order without waiting for them to be mined.
+     * Submission stops at the first failure, as every later nonce would be stuck behind the gap it
+     * leaves. Returns the hashes of the submitted transfers, in the order of the payouts.
+     */
+    private List<String> submitTransfers(
+            Web3j web3j, Credentials credentials, List<Payout> payouts) {
+        BigInteger nonce = null;
+        try {
+            nonce =
+                    web3j.ethGetTransactionCount(
+                                    credentials.getAddress(), DefaultBlockParameterName.PENDING)
+                            .send()
+                            .getTransactionCount();
+        } catch (IOException e) {
+            exitError("Problem encountered preparing transfers: \n" + e.getMessage());
+        }
+        BigInteger gasPrice = getGasPrice(web3j);
+
+        List<String> transactionHashes = new ArrayList<>(payouts.size());
+        for (Payout payout : payouts) {
+            String signedTransaction =
+                    WalletSigner.signTransfer(
+                            credentials,
+                            payout,
+                            nonce,
+                            gasPrice,
+                            Transfer.GAS_LIMIT,
+                            ChainIdLong.NONE);
+            try {
+                EthSendTransaction ethSendTransaction =
+                        web3j.ethSendRawTransaction(signedTransaction).send();
+                if (ethSendTransaction.hasError()) {
+                    console.printf(
+                            "%s: rejected, %s%n",
+                            payout, ethSendTransaction.getError().getMessage());
+                    break;
+                }
+                transactionHashes.add(ethSendTransaction.getTransactionHash());
+            } catch (IOException e) {
+                console.printf("%s: failed to submit, %s%n", payout, e.getMessage());
+                break;
+            }
+            nonce = nonce.add(BigInteger.ONE);
+        }
+        return transactionHashes;
+    }
+
+    private BigInteger getGasPrice(Web3j web3j) {
+        try {
+            return gasPriceStrategy.getGasPrice(web3j);
+        } catch (IOException e) {
+            exitError("Problem encountered fetching the gas price: \n" + e.getMessage());
+        }
+        throw new RuntimeException("Application exit failure");
+    }
+
     private BigDecimal getAmountToTransfer() {
         String amount =
-                console.readLine(
-                                "What amound would you like to transfer "
-                                        + "(please enter a numeric value): ")
-                        .trim();
+                this.amount != null
+                        ? this.amount
+                        : console.readLine(
+                                        "What amound would you like to transfer "
+                                                + "(please enter a numeric value): ")
+                                .trim();
         try {
             return new BigDecimal(amount);
         } catch (NumberFormatException e) {
@@ -91,8 +335,14 @@ class WalletSendFunds extends WalletManager {
     }
 
     private Convert.Unit getTransferUnit() {
-        String unit =
-                console.readLine("Please specify the unit (ether, wei, ...) [ether]: ").trim();
+        String unit;
+        if (this.unit != null) {
+            unit = this.unit;
+        } else if (amount != null) {
+            unit = "";
+        } else {
+            unit = console.readLine("Please specify the unit (ether, wei, ...) [ether]: ").trim();
+        }
 
         Convert.Unit transferUnit;
         if (unit.equals("")) {
@@ -117,8 +367,7 @@ class WalletSendFunds extends WalletManager {
                 amountInWei.stripTrailingZeros().toPlainString(),
                 Convert.Unit.WEI,
                 destinationAddress);
-        String confirm = console.readLine("Please type 'yes' to proceed: ").trim();
-        if (!confirm.toLowerCase().equals("yes")) {
+        if (!confirm("yes", "Please type 'yes' to proceed: ")) {
             exitError("OK, some other time perhaps...");
         }
     }
@@ -130,61 +379,28 @@ class WalletSendFunds extends WalletManager {
             BigDecimal amountInWei) {
 
         console.printf("Commencing transfer (this may take a few minutes) ");
-        try {
-            Future<TransactionReceipt> future =
-                    Transfer.sendFunds(
-                                    web3j,
-                                    credentials,
+        try (ReceiptTracker receiptTracker = ReceiptTracker.polling(web3j)) {
+            TransactionManager transactionManager =
+                    new RawTransactionManager(
+                            web3j, credentials, ChainIdLong.NONE, new NoOpProcessor(web3j));
+            String transactionHash =
+                    new Transfer(web3j, transactionManager)
+                            .sendFunds(
                                     destinationAddress,
                                     amountInWei,
-                                    Convert.Unit.WEI)
-                            .sendAsync();
+                                    Convert.Unit.WEI,
+                                    getGasPrice(web3j),
+                                    Transfer.GAS_LIMIT)
+                            .send()
+                            .getTransactionHash();
 
-            while (!future.isDone()) {
-                console.printf(".");
-                Thread.sleep(500);
-            }
+            TransactionReceipt transactionReceipt =
+                    receiptTracker.track(transactionHash, () -> console.printf(".")).get();
             console.printf("$%n%n");
-            return future.get();
-        } catch (InterruptedException | ExecutionException | TransactionException | IOException e) {
-            exitError("Problem encountered transferring funds: \n" + e.getMessage());
-        }
-        throw new RuntimeException("Application exit failure");
-    }
-
-    private Web3j getEthereumClient() {
-        String clientAddress =
-                console.readLine(
-                                "Please confirm address of running Ethereum client you wish to send "
-                                        + "the transfer request to ["
-                                        + HttpService.DEFAULT_URL
-                                        + "]: ")
-                        .trim();
-
-        Web3j web3j;
-        if (clientAddress.equals("")) {
-            web3j = Web3j.build(new HttpService());
-        } else if (clientAddress.contains("infura.io")) {
-            web3j = Web3j.build(new InfuraHttpService(clientAddress));
-        } else if (clientAddress.contains("nodesmith.io")) {
-            web3j = Web3j.build(new NodesmithHttpService(clientAddress));
-        } else {
-            web3j = Web3j.build(new HttpService(clientAddress));
-        }
-
-        try {
-            Web3ClientVersion web3ClientVersion = web3j.web3ClientVersion().sendAsync().get();
-            if (web3ClientVersion.hasError()) {
-                exitError(
-                        "Unable to process response from client: " + web3ClientVersion.getError());
-            } else {
-                console.printf(
-                        "Connected successfully to client: %s%n",
-                        web3ClientVersion.getWeb3ClientVersion());
-                return web3j;
-            }
-        } catch (InterruptedException | ExecutionException e) {
-            exitError("Problem encountered verifying client: " + e.getMessage());
+            return transactionReceipt;
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            exitError("Problem encountered transferring funds: \n" + cause.getMessage());
         }
         throw new RuntimeException("Application exit failure");
     }
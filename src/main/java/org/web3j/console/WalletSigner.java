@@ -0,0 +1,251 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.crypto.WalletUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.tx.ChainIdLong;
+import org.web3j.tx.Transfer;
+import org.web3j.utils.Numeric;
+
+import static org.web3j.codegen.Console.exitError;
+
+/**
+ * Signs the transfers of a payouts file into a file of raw transactions, one per line, that can
+ * later be submitted by {@link WalletBroadcaster}. When the nonce and gas price are given and every
+ * destination is an address, no Ethereum client is needed.
+ */
+public class WalletSigner extends WalletManager {
+
+    private static final String USAGE =
+            "sign <walletfile>|<address> <payouts csv file> --output <file>"
+                    + " [--nonce <number>] ["
+                    + GasPriceStrategy.USAGE
+                    + "] [--gas-limit <number>] [--chain-id <number>] "
+                    + PASSWORD_USAGE
+                    + " [--ens-cache] [--keystore <directory>] [--node <url>]";
+
+    // transfers are signed in parallel a chunk at a time, so memory stays bounded for large files
+    private static final int CHUNK_SIZE = 1024;
+
+    private EnsNameCache ensNameCache = EnsNameCache.create(false);
+
+    public WalletSigner() {}
+
+    public WalletSigner(IODevice console) {
+        super(console);
+    }
+
+    public static void main(String[] args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        Optional<String> output = removeOption(arguments, "--output", USAGE);
+        BigInteger nonce = removeNumberOption(arguments, "--nonce");
+        GasPriceStrategy gasPriceStrategy = removeGasPriceOption(arguments, USAGE);
+        BigInteger gasLimit = removeNumberOption(arguments, "--gas-limit");
+        BigInteger chainId = removeNumberOption(arguments, "--chain-id");
+        Optional<String> nodeUrl = removeOption(arguments, "--node", USAGE);
+        Optional<String> keystoreDir = removeOption(arguments, "--keystore", USAGE);
+        boolean persistEnsCache = arguments.remove("--ens-cache");
+        String password =
+                removePasswordOption(arguments, "--password-file", "--password-env", USAGE);
+        if (arguments.size() != 2 || !output.isPresent()) {
+            exitError(USAGE);
+        }
+
+        WalletSigner walletSigner = new WalletSigner();
+        walletSigner.setPassword(password);
+        nodeUrl.ifPresent(walletSigner::setNodeUrl);
+        keystoreDir.ifPresent(walletSigner::setKeystoreDir);
+        walletSigner.ensNameCache = EnsNameCache.create(persistEnsCache);
+        try {
+            walletSigner.run(
+                    arguments.get(0),
+                    arguments.get(1),
+                    output.get(),
+                    nonce,
+                    gasPriceStrategy,
+                    gasLimit != null ? gasLimit : Transfer.GAS_LIMIT,
+                    chainId != null ? chainId.longValue() : ChainIdLong.NONE);
+        } finally {
+            EthereumClientFactory.shutdown();
+        }
+    }
+
+    static void main(
+            IODevice console,
+            Credentials credentials,
+            String payoutsFileLocation,
+            String outputLocation,
+            BigInteger nonce,
+            BigInteger gasPrice) {
+        new WalletSigner(console)
+                .sign(
+                        credentials,
+                        WalletSendFunds.readPayouts(payoutsFileLocation),
+                        new File(outputLocation),
+                        nonce,
+                        gasPrice,
+                        Transfer.GAS_LIMIT,
+                        ChainIdLong.NONE);
+    }
+
+    private void run(
+            String walletFileLocation,
+            String payoutsFileLocation,
+            String outputLocation,
+            BigInteger nonce,
+            GasPriceStrategy gasPriceStrategy,
+            BigInteger gasLimit,
+            long chainId) {
+        List<Payout> payouts = WalletSendFunds.readPayouts(payoutsFileLocation);
+        Credentials credentials = getCredentials(getWalletFile(walletFileLocation));
+        console.printf("Wallet for address " + credentials.getAddress() + " loaded\n");
+
+        boolean offline =
+                nonce != null
+                        && !gasPriceStrategy.requiresClient()
+                        && payouts.stream()
+                                .allMatch(
+                                        payout ->
+                                                WalletUtils.isValidAddress(
+                                                        payout.getDestination()));
+        // fetch everything needed from the client once, before signing starts
+        Web3j web3j = offline ? null : getEthereumClient();
+        BigInteger gasPrice = null;
+        try {
+            if (nonce == null) {
+                nonce =
+                        web3j.ethGetTransactionCount(
+                                        credentials.getAddress(), DefaultBlockParameterName.PENDING)
+                                .send()
+                                .getTransactionCount();
+            }
+            gasPrice = gasPriceStrategy.getGasPrice(web3j);
+        } catch (IOException e) {
+            exitError("Problem encountered preparing transfers: \n" + e.getMessage());
+        }
+        if (!offline) {
+            payouts = WalletSendFunds.resolveEnsNames(web3j, payouts, ensNameCache);
+        }
+
+        sign(credentials, payouts, new File(outputLocation), nonce, gasPrice, gasLimit, chainId);
+    }
+
+    private void sign(
+            Credentials credentials,
+            List<Payout> payouts,
+            File output,
+            BigInteger nonce,
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            long chainId) {
+        console.printf(
+                "Signing %d transfers starting at nonce %s with gas price %s wei ...\n",
+                payouts.size(), nonce, gasPrice);
+        long start = System.nanoTime();
+
+        try (Writer writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(
+                                new FileOutputStream(output), StandardCharsets.UTF_8))) {
+            for (int from = 0; from < payouts.size(); from += CHUNK_SIZE) {
+                int offset = from;
+                BigInteger chunkNonce = nonce.add(BigInteger.valueOf(from));
+                String[] signedTransactions =
+                        IntStream.range(from, Math.min(from + CHUNK_SIZE, payouts.size()))
+                                .parallel()
+                                .mapToObj(
+                                        i ->
+                                                signTransfer(
+                                                        credentials,
+                                                        payouts.get(i),
+                                                        chunkNonce.add(
+                                                                BigInteger.valueOf(i - offset)),
+                                                        gasPrice,
+                                                        gasLimit,
+                                                        chainId))
+                                .toArray(String[]::new);
+                for (String signedTransaction : signedTransactions) {
+                    writer.write(signedTransaction);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            exitError("Unable to write signed transactions: " + e.getMessage());
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        console.printf(
+                "%d signed transactions written to: %s (%.2f tx/sec), next nonce is %s\n",
+                payouts.size(),
+                output,
+                payouts.size() / seconds,
+                nonce.add(BigInteger.valueOf(payouts.size())));
+    }
+
+    static String signTransfer(
+            Credentials credentials,
+            Payout payout,
+            BigInteger nonce,
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            long chainId) {
+        RawTransaction rawTransaction =
+                RawTransaction.createEtherTransaction(
+                        nonce,
+                        gasPrice,
+                        gasLimit,
+                        payout.getDestination(),
+                        payout.getAmountInWei());
+        byte[] signedMessage =
+                chainId == ChainIdLong.NONE
+                        ? TransactionEncoder.signMessage(rawTransaction, credentials)
+                        : TransactionEncoder.signMessage(rawTransaction, chainId, credentials);
+        return Numeric.toHexString(signedMessage);
+    }
+
+    private static BigInteger removeNumberOption(List<String> args, String name) {
+        Optional<String> value = removeOption(args, name, USAGE);
+        if (!value.isPresent()) {
+            return null;
+        }
+        try {
+            BigInteger number = new BigInteger(value.get());
+            if (number.signum() >= 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the usage error below
+        }
+        exitError(USAGE);
+        throw new RuntimeException("Application exit failure");
+    }
+}
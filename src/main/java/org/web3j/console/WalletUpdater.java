@@ -14,6 +14,13 @@ package org.web3j.console;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.web3j.crypto.CipherException;
 import org.web3j.crypto.Credentials;
@@ -24,6 +31,14 @@ import static org.web3j.codegen.Console.exitError;
 /** Simple class for creating a wallet file. */
 public class WalletUpdater extends WalletManager {
 
+    private static final String USAGE =
+            "update <walletfile>|<address>|<wallet directory> [--threads <number>] ["
+                    + KdfProfile.USAGE
+                    + "] "
+                    + PASSWORD_USAGE
+                    + " [--new-password-file <file>|--new-password-env <variable>]"
+                    + " [--keystore <directory>] [--destination <directory>] [--yes]";
+
     public WalletUpdater() {}
 
     public WalletUpdater(IODevice console) {
@@ -31,10 +46,35 @@ public class WalletUpdater extends WalletManager {
     }
 
     public static void main(String[] args) {
-        if (args.length != 1) {
-            exitError("You must provide an existing wallet file");
+        new WalletUpdater().execute(args);
+    }
+
+    void execute(String[] args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        KdfProfile kdfProfile = removeKdfOption(arguments, USAGE);
+        int threads =
+                removeCountOption(arguments, "--threads", getDefaultThreads(kdfProfile), USAGE);
+        String password =
+                removePasswordOption(arguments, "--password-file", "--password-env", USAGE);
+        String newPassword =
+                removePasswordOption(arguments, "--new-password-file", "--new-password-env", USAGE);
+        Optional<String> destinationDir = removeOption(arguments, "--destination", USAGE);
+        Optional<String> keystoreDir = removeOption(arguments, "--keystore", USAGE);
+        boolean assumeYes = arguments.remove("--yes");
+        if (arguments.size() != 1) {
+            exitError("You must provide an existing wallet file\n" + USAGE);
+        }
+
+        setKdfProfile(kdfProfile);
+        setPassword(password);
+        setNewPassword(newPassword);
+        destinationDir.ifPresent(this::setDestinationDir);
+        keystoreDir.ifPresent(this::setKeystoreDir);
+        setAssumeYes(assumeYes);
+        if (new File(arguments.get(0)).isDirectory()) {
+            runDirectory(arguments.get(0), threads);
         } else {
-            new WalletUpdater().run(args[0]);
+            run(arguments.get(0));
         }
     }
 
@@ -42,8 +82,14 @@ public class WalletUpdater extends WalletManager {
         new WalletUpdater(console).run(walletFileLocation);
     }
 
+    static void main(IODevice console, KdfProfile kdfProfile, String walletDirectory, int threads) {
+        WalletUpdater walletUpdater = new WalletUpdater(console);
+        walletUpdater.setKdfProfile(kdfProfile);
+        walletUpdater.runDirectory(walletDirectory, threads);
+    }
+
     private void run(String walletFileLocation) {
-        File walletFile = new File(walletFileLocation);
+        File walletFile = getWalletFile(walletFileLocation);
         Credentials credentials = getCredentials(walletFile);
 
         console.printf("Wallet for address " + credentials.getAddress() + " loaded\n");
@@ -55,8 +101,7 @@ public class WalletUpdater extends WalletManager {
 
         try {
             String walletFileName =
-                    WalletUtils.generateWalletFile(
-                            newPassword, credentials.getEcKeyPair(), destination, true);
+                    generateWalletFile(newPassword, credentials.getEcKeyPair(), destination);
             console.printf(
                     "New wallet file "
                             + walletFileName
@@ -67,9 +112,7 @@ public class WalletUpdater extends WalletManager {
             exitError(e);
         }
 
-        String delete =
-                console.readLine("Would you like to delete your existing wallet file (Y/N)? [N]: ");
-        if (delete.toUpperCase().equals("Y")) {
+        if (confirm("Y", "Would you like to delete your existing wallet file (Y/N)? [N]: ")) {
             if (!walletFile.delete()) {
                 exitError("Unable to remove wallet file\n");
             } else {
@@ -77,4 +120,73 @@ public class WalletUpdater extends WalletManager {
             }
         }
     }
+
+    private void runDirectory(String walletDirectory, int threads) {
+        File[] walletFiles = new File(walletDirectory).listFiles(File::isFile);
+        if (walletFiles == null || walletFiles.length == 0) {
+            exitError("No wallet files found in: " + walletDirectory);
+        }
+        Arrays.sort(walletFiles);
+
+        String currentPassword = getExistingPassword();
+        String newPassword = getPassword("Please enter a new wallet file password: ");
+
+        String destinationDir = getDestinationDir();
+        File destination = createDir(destinationDir);
+
+        List<Callable<String>> tasks = new ArrayList<>(walletFiles.length);
+        for (File walletFile : walletFiles) {
+            tasks.add(
+                    () -> updateWalletFile(walletFile, currentPassword, newPassword, destination));
+        }
+
+        long start = System.nanoTime();
+        List<Future<String>> results = invokeAll(tasks, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        List<File> updated = new ArrayList<>();
+        for (int i = 0; i < walletFiles.length; i++) {
+            try {
+                String walletFileName = results.get(i).get();
+                updated.add(walletFiles[i]);
+                console.printf("%s -> %s\n", walletFiles[i].getName(), walletFileName);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exitError("Wallet processing was interrupted");
+            } catch (ExecutionException e) {
+                console.printf(
+                        "%s -> failed: %s\n", walletFiles[i].getName(), e.getCause().getMessage());
+            }
+        }
+
+        console.printf(
+                "%d of %d wallet files successfully updated in: %s (%.2f wallets/sec)\n",
+                updated.size(), walletFiles.length, destinationDir, updated.size() / seconds);
+
+        if (updated.isEmpty()) {
+            return;
+        }
+        if (confirm(
+                "Y",
+                "Would you like to delete the %d existing wallet files that were "
+                        + "updated (Y/N)? [N]: ",
+                updated.size())) {
+            int deleted = 0;
+            for (File walletFile : updated) {
+                if (walletFile.delete()) {
+                    deleted++;
+                } else {
+                    console.printf("Unable to remove wallet file: %s\n", walletFile.getName());
+                }
+            }
+            console.printf("Deleted %d previous wallet files\n", deleted);
+        }
+    }
+
+    private String updateWalletFile(
+            File walletFile, String currentPassword, String newPassword, File destination)
+            throws CipherException, IOException {
+        Credentials credentials = WalletUtils.loadCredentials(currentPassword, walletFile);
+        return kdfProfile.generateWalletFile(newPassword, credentials.getEcKeyPair(), destination);
+    }
 }
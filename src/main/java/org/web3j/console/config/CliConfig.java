@@ -14,13 +14,25 @@ package org.web3j.console.config;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 
 import org.web3j.utils.Version;
 
@@ -38,26 +50,52 @@ public class CliConfig {
         if (!web3jHome.exists() && !web3jHome.mkdirs()) {
             throw new IOException("Failed to create Web3j home directory");
         }
-        return new CliConfig(
-                Version.getVersion(),
-                defaultServicesUrl,
-                UUID.randomUUID().toString(),
-                Version.getVersion(),
-                null,
-                null);
+        CliConfig config =
+                new CliConfig(
+                        Version.getVersion(),
+                        defaultServicesUrl,
+                        UUID.randomUUID().toString(),
+                        Version.getVersion(),
+                        null,
+                        null);
+        // a new client id must be persisted, otherwise every run reports a different one
+        config.changed = true;
+        config.configPath = configFile.toPath();
+        return config;
     }
 
     private static CliConfig getSavedConfig(File configFile) throws IOException {
-        String configContents = new String(Files.readAllBytes(configFile.toPath()));
-        CliConfig config = new Gson().fromJson(configContents, CliConfig.class);
+        JsonObject saved = readSavedJson(configFile.toPath());
+        if (saved == null) {
+            return null;
+        }
+        CliConfig config = new Gson().fromJson(saved, CliConfig.class);
+        config.saved = saved;
+        config.configPath = configFile.toPath();
         return config;
     }
 
     public static CliConfig getConfig(File configFile) throws IOException {
-        if (configFile.exists()) {
-            return getSavedConfig(configFile);
-        } else {
-            return initializeDefaultConfig(configFile);
+        CliConfig config = configFile.exists() ? getSavedConfig(configFile) : null;
+        if (config == null) {
+            // a missing or damaged config is replaced with a default one
+            config = initializeDefaultConfig(configFile);
+        }
+        return config;
+    }
+
+    /** Returns the saved JSON object, or null if the file is missing or cannot be parsed. */
+    private static JsonObject readSavedJson(Path configPath) throws IOException {
+        if (!Files.exists(configPath)) {
+            return null;
+        }
+        try {
+            JsonElement element =
+                    JsonParser.parseString(
+                            new String(Files.readAllBytes(configPath), StandardCharsets.UTF_8));
+            return element.isJsonObject() ? element.getAsJsonObject() : null;
+        } catch (JsonParseException e) {
+            return null;
         }
     }
 
@@ -104,6 +142,7 @@ public class CliConfig {
 
     public void setLatestVersion(String latestVersion) {
         this.latestVersion = latestVersion;
+        changed = true;
     }
 
     public boolean isUpdateAvailable() {
@@ -116,10 +155,36 @@ public class CliConfig {
 
     public void setLoginToken(final String loginToken) {
         this.loginToken = loginToken;
+        changed = true;
     }
 
     public void setVersion(final String version) {
         this.version = version;
+        changed = true;
+    }
+
+    /** Returns the minimum number of seconds between update checks, or 0 for the default. */
+    public long getUpdateCheckInterval() {
+        return updateCheckInterval;
+    }
+
+    public void setUpdateCheckInterval(long updateCheckInterval) {
+        this.updateCheckInterval = updateCheckInterval;
+        changed = true;
+    }
+
+    public long getLastUpdateCheck() {
+        return lastUpdateCheck;
+    }
+
+    public void setLastUpdateCheck(long lastUpdateCheck) {
+        this.lastUpdateCheck = lastUpdateCheck;
+        changed = true;
+    }
+
+    /** Returns true if the configuration has been modified since it was loaded or saved. */
+    public boolean isChanged() {
+        return changed;
     }
 
     private String version;
@@ -128,6 +193,12 @@ public class CliConfig {
     private String latestVersion;
     private String updatePrompt;
     private String loginToken;
+    private long lastUpdateCheck;
+    private long updateCheckInterval;
+    private transient volatile boolean changed;
+    private transient Path configPath;
+    // the fields as last read from or written to disk, used to find the ones changed since
+    private transient JsonObject saved;
 
     public CliConfig(
             String version,
@@ -162,10 +233,87 @@ public class CliConfig {
 
     public void setUpdatePrompt(String updatePrompt) {
         this.updatePrompt = updatePrompt;
+        changed = true;
+    }
+
+    /**
+     * Writes the fields changed since the config was loaded over the current contents of the file.
+     * Other processes may have saved in the meantime, so the file is re-read under an exclusive
+     * lock and replaced atomically, which means readers never see a partially written config.
+     */
+    public synchronized void save() throws IOException {
+        Path path = configPath != null ? configPath : web3jConfigPath;
+        Gson gson = new Gson();
+        // file locks are held by the whole process, so threads are serialised separately
+        synchronized (CliConfig.class) {
+            try (FileChannel lockChannel =
+                    FileChannel.open(
+                            path.resolveSibling(path.getFileName() + ".lock"),
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    JsonObject current = gson.toJsonTree(this).getAsJsonObject();
+                    JsonObject previous = saved != null ? saved : new JsonObject();
+                    JsonObject merged = readSavedJson(path);
+                    if (merged == null) {
+                        merged = new JsonObject();
+                    }
+
+                    Set<String> fields = new HashSet<>(current.keySet());
+                    fields.addAll(previous.keySet());
+                    for (String field : fields) {
+                        JsonElement value = current.get(field);
+                        if (!Objects.equals(value, previous.get(field))) {
+                            if (value == null) {
+                                merged.remove(field);
+                            } else {
+                                merged.add(field, value);
+                            }
+                        }
+                    }
+
+                    writeAtomically(path, gson.toJson(merged));
+                    copyFields(gson.fromJson(merged, CliConfig.class));
+                    saved = merged;
+                    changed = false;
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    private static void writeAtomically(Path path, String contents) throws IOException {
+        Path tempFile =
+                Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, contents.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
     }
 
-    public void save() throws IOException {
-        String jsonToWrite = new Gson().toJson(this);
-        Files.write(web3jConfigPath, jsonToWrite.getBytes(Charset.defaultCharset()));
+    private void copyFields(CliConfig other) {
+        version = other.version;
+        servicesUrl = other.servicesUrl;
+        clientId = other.clientId;
+        latestVersion = other.latestVersion;
+        updatePrompt = other.updatePrompt;
+        loginToken = other.loginToken;
+        lastUpdateCheck = other.lastUpdateCheck;
+        updateCheckInterval = other.updateCheckInterval;
+    }
+
+    /** Saves the configuration only if it has been modified, avoiding a write on every run. */
+    public void saveIfChanged() throws IOException {
+        if (changed) {
+            save();
+        }
     }
 }
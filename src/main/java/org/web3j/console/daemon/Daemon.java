@@ -0,0 +1,431 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.Permission;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.web3j.console.Environment;
+import org.web3j.console.Runner;
+
+import static org.web3j.codegen.Console.exitError;
+
+/**
+ * Keeps a warm JVM running CLI commands sent by {@link DaemonClient}, so repeated invocations skip
+ * class loading and JIT warm-up. The daemon only listens on the loopback interface, requests must
+ * present the random token from its owner-only state file, and it exits once it has been idle.
+ *
+ * <p>Commands run one at a time with the standard streams of the JVM redirected to the client and
+ * the environment of the client in {@link Environment}. Both are global to the JVM, so commands
+ * cannot run in parallel, and launchers started while a command runs queue until it finishes.
+ *
+ * <p>Commands return their exit status, but the CLI and web3j still call {@link System#exit(int)}
+ * deep inside many commands. A security manager turns those calls, from any thread while a command
+ * runs, into the end of the command rather than of the daemon. Security managers are deprecated for
+ * removal, so {@link DaemonClient} starts the daemon with {@code -Djava.security.manager=allow} on
+ * Java 12 and later and does not use it on releases where one can no longer be installed.
+ */
+public class Daemon {
+
+    static final String USAGE = "daemon start|stop";
+
+    /** Serves without taking the startup lock, which the launcher starting the daemon holds. */
+    static final String SERVE = "serve";
+
+    static final long IDLE_TIMEOUT = TimeUnit.HOURS.toMillis(3);
+
+    private static final long CLOSE_TIMEOUT = TimeUnit.SECONDS.toMillis(1);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // the thread running the current command, exits from any thread are intercepted while set
+    private static volatile Thread commandThread;
+    private static volatile Integer workerExitStatus;
+
+    /** A command line entry point, {@link Runner#run(String[])} outside of tests. */
+    interface Command {
+        int run(String[] args) throws Exception;
+    }
+
+    private final File stateFile;
+    private final Command command;
+    private final long idleTimeout;
+    private final String token;
+
+    Daemon(File stateFile, Command command, long idleTimeout) {
+        this.stateFile = stateFile;
+        this.command = command;
+        this.idleTimeout = idleTimeout;
+        byte[] tokenBytes = new byte[32];
+        new SecureRandom().nextBytes(tokenBytes);
+        StringBuilder token = new StringBuilder();
+        for (byte b : tokenBytes) {
+            token.append(String.format("%02x", b));
+        }
+        this.token = token.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        File stateFile = DaemonProtocol.getStateFile();
+        if (args.length == 1 && args[0].equals(SERVE)) {
+            new Daemon(stateFile, Runner::run, IDLE_TIMEOUT).serve();
+        } else if (args.length == 0 || (args.length == 1 && args[0].equals("start"))) {
+            File parent = stateFile.getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                exitError("Unable to create daemon directory: " + parent);
+            }
+            FileChannel lock = DaemonProtocol.lockStartup(stateFile);
+            Properties state = DaemonClient.readState(stateFile);
+            if (state != null && DaemonClient.isRunning(state)) {
+                lock.close();
+                exitError("A daemon is already running for this directory");
+            }
+            new Daemon(stateFile, Runner::run, IDLE_TIMEOUT).serve(lock);
+        } else if (args.length == 1 && args[0].equals("stop")) {
+            if (!DaemonClient.stop(DaemonProtocol.getStateFile())) {
+                exitError("No daemon is running for this directory");
+            }
+        } else {
+            exitError(USAGE);
+        }
+    }
+
+    void serve() throws IOException {
+        serve(() -> {});
+    }
+
+    /**
+     * Accepts requests until the daemon is stopped or has been idle for the timeout, closing the
+     * startup lock once the state file has been written.
+     */
+    void serve(Closeable startupLock) throws IOException {
+        try (ServerSocket serverSocket =
+                new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            try {
+                installExitInterceptor();
+                serverSocket.setSoTimeout((int) idleTimeout);
+                writeState(serverSocket.getLocalPort());
+            } finally {
+                startupLock.close();
+            }
+            try {
+                boolean running = true;
+                while (running) {
+                    try (Socket socket = serverSocket.accept()) {
+                        running = handle(socket);
+                    } catch (SocketTimeoutException e) {
+                        running = false;
+                    } catch (IOException e) {
+                        // the launcher went away, keep serving the next one
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(stateFile.toPath());
+            }
+        }
+    }
+
+    private boolean handle(Socket socket) throws IOException {
+        DataInputStream request =
+                new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream response =
+                new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        String requestToken = request.readUTF();
+        if (!MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8),
+                requestToken.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        if (request.readUTF().equals(DaemonProtocol.STOP)) {
+            writeExit(response, 0);
+            return false;
+        }
+        String[] args = new String[request.readInt()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = request.readUTF();
+        }
+        Map<String, String> environment = new HashMap<>();
+        int variables = request.readInt();
+        for (int i = 0; i < variables; i++) {
+            environment.put(request.readUTF(), request.readUTF());
+        }
+        boolean terminal = request.readBoolean();
+        writeExit(response, runCommand(args, environment, terminal, request, response));
+
+        // closing with unread input resets the connection, which can lose the exit frame
+        socket.shutdownOutput();
+        socket.setSoTimeout((int) CLOSE_TIMEOUT);
+        try {
+            while (request.read() != -1) {
+                // discard input the command did not read until the launcher closes its end
+            }
+        } catch (SocketTimeoutException e) {
+            // a launcher still holding its end open
+        }
+        return true;
+    }
+
+    private int runCommand(
+            String[] args,
+            Map<String, String> environment,
+            boolean terminal,
+            DataInputStream request,
+            DataOutputStream response) {
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        PrintStream out =
+                new PrintStream(new FrameOutputStream(response, DaemonProtocol.STDOUT), true);
+        PrintStream err =
+                new PrintStream(new FrameOutputStream(response, DaemonProtocol.STDERR), true);
+        System.setIn(new FrameInputStream(request));
+        System.setOut(out);
+        System.setErr(err);
+        Environment.setLauncher(environment, terminal);
+        workerExitStatus = null;
+        commandThread = Thread.currentThread();
+        try {
+            int status = command.run(args);
+            return workerExitStatus != null ? workerExitStatus : status;
+        } catch (ExitException e) {
+            return workerExitStatus != null ? workerExitStatus : e.status;
+        } catch (Throwable e) {
+            if (workerExitStatus != null) {
+                // the command thread was interrupted by a worker that exited
+                return workerExitStatus;
+            }
+            e.printStackTrace(err);
+            return 1;
+        } finally {
+            commandThread = null;
+            Thread.interrupted();
+            Environment.reset();
+            out.flush();
+            err.flush();
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+    }
+
+    private static void writeExit(DataOutputStream response, int status) throws IOException {
+        synchronized (response) {
+            response.writeByte(DaemonProtocol.EXIT);
+            response.writeInt(status);
+            response.flush();
+        }
+    }
+
+    private void writeState(int port) throws IOException {
+        File parent = stateFile.getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create daemon directory: " + parent);
+        }
+        Properties state = new Properties();
+        state.setProperty(DaemonProtocol.PORT, Integer.toString(port));
+        state.setProperty(DaemonProtocol.TOKEN, token);
+
+        File tempFile = File.createTempFile(".daemon", ".tmp", parent);
+        try {
+            try {
+                // the token is all that stops other local users from running commands as us
+                Files.setPosixFilePermissions(
+                        tempFile.toPath(), PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                // not a POSIX file system
+            }
+            try (Writer writer = Files.newBufferedWriter(tempFile.toPath())) {
+                state.store(writer, null);
+            }
+            Files.move(tempFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    private static synchronized void installExitInterceptor() throws IOException {
+        if (System.getSecurityManager() instanceof ExitInterceptor) {
+            return;
+        }
+        try {
+            System.setSecurityManager(new ExitInterceptor());
+        } catch (UnsupportedOperationException e) {
+            throw new IOException(
+                    "The daemon needs -Djava.security.manager=allow, which Java "
+                            + DaemonProtocol.LAST_SECURITY_MANAGER_RELEASE
+                            + " is the last release to support",
+                    e);
+        }
+        Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler(
+                (thread, e) -> {
+                    // a worker thread that exited, already reported by the command
+                    if (e instanceof ExitException) {
+                        return;
+                    }
+                    if (handler != null) {
+                        handler.uncaughtException(thread, e);
+                    } else {
+                        System.err.print("Exception in thread \"" + thread.getName() + "\" ");
+                        e.printStackTrace(System.err);
+                    }
+                });
+    }
+
+    /**
+     * Turns exits into exceptions while a command runs, allowing everything else. An exit from
+     * another thread, such as a worker pool of the command, also interrupts the command thread and
+     * becomes the exit status of the command.
+     */
+    private static class ExitInterceptor extends SecurityManager {
+        @Override
+        public void checkPermission(Permission perm) {}
+
+        @Override
+        public void checkPermission(Permission perm, Object context) {}
+
+        @Override
+        public void checkExit(int status) {
+            Thread current = commandThread;
+            if (current == null) {
+                return;
+            }
+            if (current != Thread.currentThread()) {
+                synchronized (ExitInterceptor.class) {
+                    if (workerExitStatus == null) {
+                        workerExitStatus = status;
+                    }
+                }
+                current.interrupt();
+            }
+            throw new ExitException(status);
+        }
+    }
+
+    private static class ExitException extends SecurityException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        private ExitException(int status) {
+            super("Exit with status " + status);
+            this.status = status;
+        }
+    }
+
+    /** Writes everything sent to it as frames of the given type. */
+    private static class FrameOutputStream extends OutputStream {
+        private final DataOutputStream response;
+        private final byte type;
+
+        private FrameOutputStream(DataOutputStream response, byte type) {
+            this.response = response;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            synchronized (response) {
+                response.writeByte(type);
+                response.writeInt(len);
+                response.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (response) {
+                response.flush();
+            }
+        }
+    }
+
+    /** Reads the standard input frames forwarded by the launcher on demand. */
+    private static class FrameInputStream extends InputStream {
+        private final DataInputStream request;
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private boolean eof;
+
+        private FrameInputStream(DataInputStream request) {
+            this.request = request;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (position == limit) {
+                if (eof || request.readByte() == DaemonProtocol.STDIN_EOF) {
+                    eof = true;
+                    return -1;
+                }
+                int length = request.readInt();
+                if (length > buffer.length) {
+                    buffer = new byte[length];
+                }
+                request.readFully(buffer, 0, length);
+                position = 0;
+                limit = length;
+            }
+            int count = Math.min(len, limit - position);
+            System.arraycopy(buffer, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return limit - position;
+        }
+    }
+}
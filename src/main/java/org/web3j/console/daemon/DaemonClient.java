@@ -0,0 +1,264 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.web3j.console.Runner;
+
+/**
+ * Thin launcher used when {@code WEB3J_DAEMON} is set. It forwards its arguments and standard
+ * streams to the daemon of the current directory, starting one if none is running, and only loads
+ * the rest of the CLI if the daemon cannot be reached.
+ *
+ * <p>The daemon runs one command at a time, so launchers started together wait for each other. It
+ * relies on a security manager, which is deprecated for removal: the daemon is started with {@code
+ * -Djava.security.manager=allow} on Java 12 and later, and commands run in the launcher itself on
+ * Java releases that no longer allow one.
+ */
+public class DaemonClient {
+
+    static final long STARTUP_TIMEOUT = TimeUnit.SECONDS.toMillis(20);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public static void main(String[] args) throws Exception {
+        File stateFile = DaemonProtocol.getStateFile();
+        if (args.length == 2 && args[0].equals("daemon") && args[1].equals("stop")) {
+            // handled here, a daemon cannot stop itself while serving this request
+            System.exit(stop(stateFile) ? 0 : 1);
+        }
+
+        Properties state = readState(stateFile);
+        if (state == null
+                && DaemonProtocol.getJavaVersion()
+                        <= DaemonProtocol.LAST_SECURITY_MANAGER_RELEASE) {
+            state = startDaemon(stateFile);
+        }
+        if (state != null) {
+            try {
+                System.exit(
+                        run(
+                                state,
+                                args,
+                                System.getenv(),
+                                System.console() != null,
+                                System.in,
+                                System.out,
+                                System.err));
+            } catch (ConnectException e) {
+                // a stale state file from a daemon that died, run in this JVM instead
+                Files.deleteIfExists(stateFile.toPath());
+            }
+        }
+        Runner.main(args);
+    }
+
+    /**
+     * Runs the command in the daemon with the given environment variables, returning its exit
+     * status. The daemon refuses password prompts if the input is a terminal, as it cannot turn off
+     * echo on it.
+     */
+    static int run(
+            Properties state,
+            String[] args,
+            Map<String, String> environment,
+            boolean terminal,
+            InputStream in,
+            OutputStream out,
+            OutputStream err)
+            throws IOException {
+        try (Socket socket = connect(state)) {
+            DataOutputStream request =
+                    new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            request.writeUTF(state.getProperty(DaemonProtocol.TOKEN));
+            request.writeUTF(DaemonProtocol.RUN);
+            request.writeInt(args.length);
+            for (String arg : args) {
+                request.writeUTF(arg);
+            }
+            request.writeInt(environment.size());
+            for (Map.Entry<String, String> variable : environment.entrySet()) {
+                request.writeUTF(variable.getKey());
+                request.writeUTF(variable.getValue());
+            }
+            request.writeBoolean(terminal);
+            request.flush();
+
+            Thread inputForwarder = new Thread(() -> forwardInput(in, request), "daemon-stdin");
+            inputForwarder.setDaemon(true);
+            inputForwarder.start();
+
+            DataInputStream response =
+                    new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (true) {
+                byte type = response.readByte();
+                if (type == DaemonProtocol.EXIT) {
+                    out.flush();
+                    err.flush();
+                    return response.readInt();
+                }
+                int length = response.readInt();
+                if (length > buffer.length) {
+                    buffer = new byte[length];
+                }
+                response.readFully(buffer, 0, length);
+                OutputStream target = type == DaemonProtocol.STDERR ? err : out;
+                target.write(buffer, 0, length);
+                target.flush();
+            }
+        }
+    }
+
+    /** Returns true if the daemon of the state accepts connections. */
+    static boolean isRunning(Properties state) {
+        try {
+            connect(state).close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** Asks the daemon to exit, returning false if none is running. */
+    static boolean stop(File stateFile) throws IOException {
+        Properties state = readState(stateFile);
+        if (state == null) {
+            return false;
+        }
+        try (Socket socket = connect(state)) {
+            DataOutputStream request = new DataOutputStream(socket.getOutputStream());
+            request.writeUTF(state.getProperty(DaemonProtocol.TOKEN));
+            request.writeUTF(DaemonProtocol.STOP);
+            request.flush();
+            new DataInputStream(socket.getInputStream()).readByte();
+            return true;
+        } catch (IOException e) {
+            Files.deleteIfExists(stateFile.toPath());
+            return false;
+        }
+    }
+
+    private static void forwardInput(InputStream in, DataOutputStream request) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                synchronized (request) {
+                    request.writeByte(DaemonProtocol.STDIN);
+                    request.writeInt(read);
+                    request.write(buffer, 0, read);
+                    request.flush();
+                }
+            }
+            synchronized (request) {
+                request.writeByte(DaemonProtocol.STDIN_EOF);
+                request.flush();
+            }
+        } catch (IOException e) {
+            // the command finished and the daemon closed the connection
+        }
+    }
+
+    private static Socket connect(Properties state) throws IOException {
+        return new Socket(
+                InetAddress.getLoopbackAddress(),
+                Integer.parseInt(state.getProperty(DaemonProtocol.PORT)));
+    }
+
+    static Properties readState(File stateFile) {
+        if (!stateFile.exists()) {
+            return null;
+        }
+        Properties state = new Properties();
+        try (Reader reader = Files.newBufferedReader(stateFile.toPath())) {
+            state.load(reader);
+        } catch (IOException e) {
+            return null;
+        }
+        return state.getProperty(DaemonProtocol.PORT) != null
+                        && state.getProperty(DaemonProtocol.TOKEN) != null
+                ? state
+                : null;
+    }
+
+    /**
+     * Starts a daemon with the class path of this launcher and waits for it to listen. The startup
+     * lock is held until then, so a launcher waiting on it finds the new daemon instead of starting
+     * another one.
+     */
+    private static Properties startDaemon(File stateFile) throws IOException, InterruptedException {
+        File directory = stateFile.getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            return null;
+        }
+
+        FileChannel lock = DaemonProtocol.lockStartup(stateFile);
+        try {
+            Properties state = readState(stateFile);
+            if (state != null) {
+                return state;
+            }
+
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            if (DaemonProtocol.getJavaVersion() >= 12) {
+                // the daemon installs a security manager to intercept System.exit
+                command.add("-Djava.security.manager=allow");
+            }
+            // the state file is found relative to the home directory of the launcher
+            command.add("-Duser.home=" + System.getProperty("user.home"));
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add("org.web3j.console.daemon.Daemon");
+            command.add(Daemon.SERVE);
+            new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(
+                            ProcessBuilder.Redirect.appendTo(new File(directory, "daemon.log")))
+                    .start();
+
+            long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT;
+            while (System.currentTimeMillis() < deadline) {
+                state = readState(stateFile);
+                if (state != null) {
+                    return state;
+                }
+                Thread.sleep(50);
+            }
+            return null;
+        } finally {
+            lock.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.daemon;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Constants shared by the daemon and its launcher. After a request header holding the arguments,
+ * environment variables and whether the input is a terminal, the launcher sends standard input
+ * frames, while the daemon answers with output frames ending in an exit frame.
+ */
+final class DaemonProtocol {
+
+    static final String RUN = "run";
+    static final String STOP = "stop";
+
+    static final byte STDIN = 0;
+    static final byte STDIN_EOF = 1;
+    static final byte STDOUT = 2;
+    static final byte STDERR = 3;
+    static final byte EXIT = 4;
+
+    static final String PORT = "port";
+    static final String TOKEN = "token";
+
+    /**
+     * The daemon turns {@link System#exit(int)} into an exception with a security manager. It is
+     * deprecated for removal, needs {@code -Djava.security.manager=allow} from Java 12 on, and
+     * cannot be installed at all after this release.
+     */
+    static final int LAST_SECURITY_MANAGER_RELEASE = 23;
+
+    private static final File STATE_DIRECTORY =
+            Paths.get(System.getProperty("user.home"), ".web3j", "daemon").toFile();
+
+    private DaemonProtocol() {}
+
+    static int getJavaVersion() {
+        String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+
+    /**
+     * Locks starting the daemon of a state file across processes, so only one of several launchers
+     * started together spawns a daemon. Closing the returned channel releases the lock.
+     */
+    static FileChannel lockStartup(File stateFile) throws IOException {
+        FileChannel channel =
+                FileChannel.open(
+                        Paths.get(stateFile.getPath() + ".lock"),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Returns the file holding the port and token of the daemon for the current working directory
+     * and class path, so relative paths and the CLI version always match the launcher.
+     */
+    static File getStateFile() {
+        String key =
+                System.getProperty("user.dir")
+                        + File.pathSeparator
+                        + System.getProperty("java.class.path");
+        try {
+            byte[] hash =
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                name.append(String.format("%02x", hash[i]));
+            }
+            return new File(STATE_DIRECTORY, name + ".properties");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -36,6 +36,7 @@ public abstract class AbstractProject<T extends AbstractProject<T>> {
     protected final ProjectStructure projectStructure;
     protected ProjectWallet projectWallet;
     protected ProgressCounter progressCounter = new ProgressCounter(true);
+    protected GradleBootstrap gradleBootstrap = GradleBootstrap.fromEnvironment();
 
     protected abstract T getProjectInstance();
 
@@ -67,30 +68,8 @@ public abstract class AbstractProject<T extends AbstractProject<T>> {
 
     protected void buildGradleProject(final String pathToDirectory)
             throws IOException, InterruptedException {
-        if (!isWindows()) {
-            setExecutable(pathToDirectory, "gradlew");
-            executeBuild(
-                    new File(pathToDirectory), new String[] {"bash", "-c", "./gradlew build -q"});
-        } else {
-            setExecutable(pathToDirectory, "gradlew.bat");
-            executeBuild(
-                    new File(pathToDirectory),
-                    new String[] {"cmd.exe", "/c", "gradlew.bat build -q"});
-        }
-    }
-
-    private boolean isWindows() {
-        return System.getProperty("os.name").toLowerCase().startsWith("windows");
-    }
-
-    private void setExecutable(final String pathToDirectory, final String gradlew) {
-        final File f = new File(pathToDirectory + File.separator + gradlew);
-        final boolean isExecutable = f.setExecutable(true);
-    }
-
-    private void executeBuild(final File workingDir, final String[] command)
-            throws InterruptedException, IOException {
-        executeProcess(workingDir, command);
+        File workingDir = new File(pathToDirectory);
+        executeProcess(workingDir, gradleBootstrap.command(workingDir, "build"));
     }
 
     private void executeProcess(File workingDir, String[] command)
@@ -108,15 +87,8 @@ public abstract class AbstractProject<T extends AbstractProject<T>> {
     }
 
     protected void createFatJar(String pathToDirectory) throws IOException, InterruptedException {
-        if (!isWindows()) {
-            executeProcess(
-                    new File(pathToDirectory),
-                    new String[] {"bash", "./gradlew", "shadowJar", "-q"});
-        } else {
-            executeProcess(
-                    new File(pathToDirectory),
-                    new String[] {"cmd.exe", "/c", "./gradlew.bat shadowJar", "-q"});
-        }
+        File workingDir = new File(pathToDirectory);
+        executeProcess(workingDir, gradleBootstrap.command(workingDir, "shadowJar"));
     }
 
     protected void generateWallet()
@@ -139,10 +111,7 @@ public abstract class AbstractProject<T extends AbstractProject<T>> {
     }
 
     protected void generateTopLevelDirectories(ProjectStructure projectStructure) {
-        projectStructure.createMainDirectory();
-        projectStructure.createTestDirectory();
-        projectStructure.createSolidityDirectory();
-        projectStructure.createWrapperDirectory();
+        projectStructure.createDirectories();
     }
 
     public void createProject()
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.project;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.web3j.console.Environment;
+
+/**
+ * Builds the Gradle command lines used on generated projects. By default the project's wrapper is
+ * used, which downloads Gradle and every dependency. For build agents without network access the
+ * following environment variables can point the build at local resources instead:
+ *
+ * <ul>
+ *   <li>{@code WEB3J_GRADLE_HOME}: a local Gradle installation used instead of the wrapper
+ *   <li>{@code WEB3J_GRADLE_USER_HOME}: a pre-seeded Gradle user home holding the dependency cache
+ *   <li>{@code WEB3J_MAVEN_MIRROR}: a repository URL or directory replacing every repository of the
+ *       project, including the plugin repositories
+ *   <li>{@code WEB3J_GRADLE_OFFLINE}: run Gradle with {@code --offline}
+ * </ul>
+ */
+public class GradleBootstrap {
+
+    static final String GRADLE_HOME_ENV = "WEB3J_GRADLE_HOME";
+    static final String GRADLE_USER_HOME_ENV = "WEB3J_GRADLE_USER_HOME";
+    static final String MAVEN_MIRROR_ENV = "WEB3J_MAVEN_MIRROR";
+    static final String OFFLINE_ENV = "WEB3J_GRADLE_OFFLINE";
+
+    private final String gradleHome;
+    private final String gradleUserHome;
+    private final String mavenMirror;
+    private final boolean offline;
+    private final boolean windows;
+
+    GradleBootstrap(
+            String gradleHome,
+            String gradleUserHome,
+            String mavenMirror,
+            boolean offline,
+            boolean windows) {
+        this.gradleHome = gradleHome;
+        this.gradleUserHome = gradleUserHome;
+        this.mavenMirror = mavenMirror;
+        this.offline = offline;
+        this.windows = windows;
+    }
+
+    public static GradleBootstrap fromEnvironment() {
+        String offline = getEnv(OFFLINE_ENV);
+        return new GradleBootstrap(
+                getEnv(GRADLE_HOME_ENV),
+                getEnv(GRADLE_USER_HOME_ENV),
+                getEnv(MAVEN_MIRROR_ENV),
+                offline != null && !offline.equalsIgnoreCase("false"),
+                System.getProperty("os.name").toLowerCase().startsWith("windows"));
+    }
+
+    private static String getEnv(String name) {
+        String value = Environment.getenv(name);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    /** Returns the command running the given tasks quietly in the project directory. */
+    public String[] command(File projectDirectory, String... tasks) throws IOException {
+        List<String> command = new ArrayList<>();
+        if (windows) {
+            command.add("cmd.exe");
+            command.add("/c");
+        }
+        if (gradleHome != null) {
+            command.add(
+                    new File(new File(gradleHome, "bin"), windows ? "gradle.bat" : "gradle")
+                            .getAbsolutePath());
+        } else if (windows) {
+            command.add("gradlew.bat");
+        } else {
+            new File(projectDirectory, "gradlew").setExecutable(true);
+            command.add("bash");
+            command.add("./gradlew");
+        }
+        command.addAll(Arrays.asList(tasks));
+        command.add("-q");
+        if (gradleUserHome != null) {
+            command.add("--gradle-user-home");
+            command.add(new File(gradleUserHome).getAbsolutePath());
+        }
+        if (offline) {
+            command.add("--offline");
+        }
+        if (mavenMirror != null) {
+            command.add("--init-script");
+            command.add(writeMirrorInitScript(projectDirectory).getAbsolutePath());
+        }
+        return command.toArray(new String[0]);
+    }
+
+    private File writeMirrorInitScript(File projectDirectory) throws IOException {
+        File gradleDirectory = new File(projectDirectory, ".gradle");
+        if (!gradleDirectory.exists() && !gradleDirectory.mkdirs()) {
+            throw new IOException("Unable to create directory: " + gradleDirectory);
+        }
+        File initScript = new File(gradleDirectory, "web3j-mirror.gradle");
+        Files.write(initScript.toPath(), mirrorInitScript().getBytes(StandardCharsets.UTF_8));
+        return initScript;
+    }
+
+    String mirrorInitScript() {
+        File directory = new File(mavenMirror);
+        String url = directory.isDirectory() ? directory.toURI().toString() : mavenMirror;
+        return "def mirror = '"
+                + url.replace("\\", "\\\\").replace("'", "\\'")
+                + "'\n"
+                + "def useMirror = { repositories ->\n"
+                + "    repositories.all { repo ->\n"
+                + "        if (!(repo instanceof MavenArtifactRepository)"
+                + " || repo.url.toString() != mirror) {\n"
+                + "            repositories.remove(repo)\n"
+                + "        }\n"
+                + "    }\n"
+                + "    repositories.maven { url mirror }\n"
+                + "}\n"
+                + "settingsEvaluated { settings ->\n"
+                + "    useMirror(settings.pluginManagement.repositories)\n"
+                + "}\n"
+                + "allprojects {\n"
+                + "    useMirror(buildscript.repositories)\n"
+                + "    useMirror(repositories)\n"
+                + "}\n";
+    }
+}
@@ -13,6 +13,7 @@
 package org.web3j.console.project;
 
 import java.io.File;
+import java.util.Arrays;
 
 public abstract class ProjectStructure {
 
@@ -91,20 +92,12 @@ public abstract class ProjectStructure {
         directory.mkdirs();
     }
 
-    public void createMainDirectory() {
-        createDirectory(mainPath);
-    }
-
-    public void createTestDirectory() {
-        createDirectory(pathToTestDirectory);
-    }
-
-    public void createSolidityDirectory() {
-        createDirectory(solidityPath);
-    }
-
-    public void createWrapperDirectory() {
-        createDirectory(wrapperPath);
+    /** Creates the directories every project needs, along with their parents. */
+    public void createDirectories() {
+        for (String path :
+                Arrays.asList(mainPath, pathToTestDirectory, solidityPath, wrapperPath)) {
+            createDirectory(path);
+        }
     }
 
     public void createWalletDirectory() {
@@ -18,8 +18,8 @@ import java.security.InvalidAlgorithmParameterException;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
 
+import org.web3j.console.KdfProfile;
 import org.web3j.crypto.CipherException;
-import org.web3j.crypto.WalletUtils;
 
 public class ProjectWallet {
 
@@ -32,9 +32,15 @@ public class ProjectWallet {
     public ProjectWallet(String walletPassword, String walletPath)
             throws NoSuchAlgorithmException, NoSuchProviderException,
                     InvalidAlgorithmParameterException, CipherException, IOException {
+        this(walletPassword, walletPath, KdfProfile.STANDARD);
+    }
+
+    public ProjectWallet(String walletPassword, String walletPath, KdfProfile kdfProfile)
+            throws NoSuchAlgorithmException, NoSuchProviderException,
+                    InvalidAlgorithmParameterException, CipherException, IOException {
         this.walletPassword = walletPassword;
         this.walletPath = walletPath;
-        this.walletName = WalletUtils.generateNewWalletFile(walletPassword, new File(walletPath));
+        this.walletName = kdfProfile.generateNewWalletFile(walletPassword, new File(walletPath));
         this.walletPasswordName =
                 walletName.substring(
                                 walletName.lastIndexOf("--") + 2, walletName.lastIndexOf(".json"))
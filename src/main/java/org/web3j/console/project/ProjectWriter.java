@@ -14,14 +14,15 @@ package org.web3j.console.project;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
-import java.util.Objects;
 
+import org.web3j.console.project.templates.TemplateReader;
 import org.web3j.crypto.CipherException;
 import org.web3j.crypto.WalletUtils;
 
@@ -34,17 +35,14 @@ public class ProjectWriter {
     }
 
     private static byte[] getBytes(final String file) {
-        return file.getBytes();
+        return file.getBytes(StandardCharsets.UTF_8);
     }
 
     public static final void copyResourceFile(final String file, final String destinationPath)
             throws IOException {
-
-        Files.copy(
-                Objects.requireNonNull(
-                        ProjectWriter.class.getClassLoader().getResourceAsStream(file)),
-                Paths.get(destinationPath),
-                StandardCopyOption.REPLACE_EXISTING);
+        try (OutputStream out = Files.newOutputStream(Paths.get(destinationPath))) {
+            TemplateReader.copyTo(file, out);
+        }
     }
 
     public static final void importSolidityProject(
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.project.templates;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.web3j.console.project.ProjectWriter;
+
+/**
+ * The files of a project as independent jobs, which are rendered and written concurrently on a
+ * bounded pool. The directories of the project must exist before the plan is executed.
+ */
+public class RenderPlan {
+
+    private static final int MAX_THREADS = 8;
+
+    /** Renders the contents of a file. */
+    public interface Renderer {
+        String render() throws IOException;
+    }
+
+    /** Writes one or more files. */
+    public interface FileJob {
+        void run() throws IOException;
+    }
+
+    private final List<FileJob> jobs = new ArrayList<>();
+
+    public RenderPlan addTemplate(Renderer renderer, String fileName, String directory) {
+        return add(() -> ProjectWriter.writeResourceFile(renderer.render(), fileName, directory));
+    }
+
+    public RenderPlan addResource(String resource, String destinationPath) {
+        return add(() -> ProjectWriter.copyResourceFile(resource, destinationPath));
+    }
+
+    public RenderPlan add(FileJob job) {
+        jobs.add(job);
+        return this;
+    }
+
+    /** Runs every job, throwing the first failure once all of them have finished. */
+    public void execute() throws IOException {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        int threads =
+                Math.min(
+                        Math.min(MAX_THREADS, jobs.size()),
+                        Runtime.getRuntime().availableProcessors());
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        Math.max(1, threads),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "render-plan");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (FileJob job : jobs) {
+                futures.add(
+                        CompletableFuture.runAsync(
+                                () -> {
+                                    try {
+                                        job.run();
+                                    } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                    }
+                                },
+                                executor));
+            }
+            IOException failure = null;
+            for (CompletableFuture<Void> future : futures) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    if (failure == null) {
+                        failure =
+                                e.getCause() instanceof UncheckedIOException
+                                        ? ((UncheckedIOException) e.getCause()).getCause()
+                                        : new IOException(e.getCause());
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.project.templates;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into literal text and {@code <placeholder>} segments. Rendering copies the
+ * segments into a single buffer, so replacement values are inserted verbatim, including any {@code
+ * $} or {@code \} characters. Placeholders without a value, such as generic type parameters, are
+ * left as they are. Recently used templates are cached in their compiled form, as the same ones are
+ * rendered for every generated project. This is the only cache of project resources, so files
+ * copied as they are, such as the Gradle wrapper scripts, are loaded through it too.
+ */
+public final class Template {
+
+    static final int MAX_CACHED_TEMPLATES = 32;
+
+    private static final Map<String, Template> CACHE =
+            new LinkedHashMap<String, Template>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            };
+
+    private final List<String> literals;
+    private final List<String> placeholders;
+    private final int literalLength;
+
+    private Template(List<String> literals, List<String> placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /** Returns the compiled template of a classpath resource, parsing it on first use only. */
+    public static Template load(String name) throws IOException {
+        synchronized (CACHE) {
+            Template template = CACHE.get(name);
+            if (template != null) {
+                return template;
+            }
+        }
+
+        Template template = compile(TemplateReader.readFile(name));
+        synchronized (CACHE) {
+            Template cached = CACHE.putIfAbsent(name, template);
+            return cached != null ? cached : template;
+        }
+    }
+
+    /** Splits the text into literals separated by placeholders of lower case names. */
+    public static Template compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int start = 0;
+        int open = text.indexOf('<');
+        while (open >= 0) {
+            int close = open + 1;
+            while (close < text.length() && isNameChar(text.charAt(close))) {
+                close++;
+            }
+            if (close > open + 1 && close < text.length() && text.charAt(close) == '>') {
+                literals.add(text.substring(start, open));
+                placeholders.add(text.substring(open + 1, close));
+                start = close + 1;
+            }
+            open = text.indexOf('<', Math.max(open + 1, start));
+        }
+        literals.add(text.substring(start));
+        return new Template(
+                Collections.unmodifiableList(literals), Collections.unmodifiableList(placeholders));
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || c == '_';
+    }
+
+    /**
+     * Returns the text of the template as it was read, for resources that are copied into a project
+     * without any replacements but are still worth caching.
+     */
+    public String text() {
+        return render(Collections.emptyMap());
+    }
+
+    public String render(Map<String, String> values) {
+        if (placeholders.isEmpty()) {
+            return literals.get(0);
+        }
+        int length = literalLength;
+        for (String placeholder : placeholders) {
+            String value = values.get(placeholder);
+            length += value != null ? value.length() : placeholder.length() + 2;
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < placeholders.size(); i++) {
+            builder.append(literals.get(i));
+            String value = values.get(placeholders.get(i));
+            if (value != null) {
+                builder.append(value);
+            } else {
+                builder.append('<').append(placeholders.get(i)).append('>');
+            }
+        }
+        return builder.append(literals.get(placeholders.size())).toString();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2020 Web3 Labs Ltd.
+ * Copyright 2019 Web3 Labs Ltd.
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
  * the License. You may obtain a copy of the License at
@@ -12,28 +12,44 @@
  */
 package org.web3j.console.project.templates;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * Reads templates from the classpath as UTF-8, keeping their original line endings. Nothing is
+ * cached here; resources used for every generated project are cached by {@link
+ * Template#load(String)}.
+ */
 public class TemplateReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
     public static String readFile(final String name) throws IOException {
-        try (final InputStream stream =
-                TemplateReader.class.getClassLoader().getResourceAsStream(name)) {
-            return readStream(stream);
-        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        copyTo(name, bytes);
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
     }
 
-    private static String readStream(final InputStream stream) throws IOException {
-
-        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
-            String temp;
-            final StringBuilder stringBuilder = new StringBuilder();
-            while ((temp = reader.readLine()) != null) {
-                stringBuilder.append(temp).append("\n");
+    /** Streams a resource without caching it, for large assets that are copied as they are. */
+    public static void copyTo(final String name, final OutputStream out) throws IOException {
+        try (final InputStream stream = open(name)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
             }
-            return stringBuilder.toString();
         }
     }
+
+    private static InputStream open(final String name) throws IOException {
+        final InputStream stream = TemplateReader.class.getClassLoader().getResourceAsStream(name);
+        if (stream == null) {
+            throw new FileNotFoundException("Template not found: " + name);
+        }
+        return stream;
+    }
 }
@@ -14,12 +14,16 @@ package org.web3j.console.project.templates.kotlin;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import org.web3j.console.project.ProjectStructure;
 import org.web3j.console.project.ProjectWriter;
+import org.web3j.console.project.templates.RenderPlan;
+import org.web3j.console.project.templates.Template;
 import org.web3j.console.project.templates.TemplateProvider;
-import org.web3j.console.project.templates.TemplateReader;
 import org.web3j.console.project.utils.InputVerifier;
 
 public class KotlinTemplateProvider implements TemplateProvider {
@@ -99,71 +103,90 @@ public class KotlinTemplateProvider implements TemplateProvider {
     }
 
     public String loadMainKotlinClass() throws IOException {
-        return TemplateReader.readFile(mainKotlinClass)
-                .replaceAll(
-                        "<project_name>",
-                        InputVerifier.capitalizeFirstLetter(projectNameReplacement.orElse("")))
-                .replaceAll("<package_name>", packageNameReplacement.orElse(""))
-                .replaceAll("<wallet_name>", walletNameReplacement.orElse(""))
-                .replaceAll("<password_file_name>", passwordFileName.orElse(""));
+        Map<String, String> values = new HashMap<>();
+        values.put(
+                "project_name",
+                InputVerifier.capitalizeFirstLetter(projectNameReplacement.orElse("")));
+        values.put("package_name", packageNameReplacement.orElse(""));
+        values.put("wallet_name", walletNameReplacement.orElse(""));
+        values.put("password_file_name", passwordFileName.orElse(""));
+        return Template.load(mainKotlinClass).render(values);
     }
 
     public String loadGradleBuild() throws IOException {
-        return TemplateReader.readFile(gradleBuild)
-                .replaceAll("<package_name>", packageNameReplacement.orElse(""))
-                .replaceAll("<project_name>", projectNameReplacement.orElse(""));
+        Map<String, String> values = new HashMap<>();
+        values.put("package_name", packageNameReplacement.orElse(""));
+        values.put("project_name", projectNameReplacement.orElse(""));
+        return Template.load(gradleBuild).render(values);
     }
 
     public String loadSolidityContract() throws IOException {
-        return TemplateReader.readFile(solidityContract);
+        return Template.load(solidityContract).text();
     }
 
     public String loadGradleSettings() throws IOException {
-        return TemplateReader.readFile(gradleSettings)
-                .replaceAll("<project_name>", projectNameReplacement.orElse(""));
+        return Template.load(gradleSettings)
+                .render(
+                        Collections.singletonMap(
+                                "project_name", projectNameReplacement.orElse("")));
     }
 
     public String loadGradlewWrapperSettings() throws IOException {
 
-        return TemplateReader.readFile(gradlewWrapperSettings);
+        return Template.load(gradlewWrapperSettings).text();
     }
 
     public String loadGradlewBatScript() throws IOException {
 
-        return TemplateReader.readFile(gradlewBatScript);
+        return Template.load(gradlewBatScript).text();
     }
 
     public String loadGradlewScript() throws IOException {
 
-        return TemplateReader.readFile(gradlewScript);
+        return Template.load(gradlewScript).text();
     }
 
     public void generateFiles(ProjectStructure projectStructure) throws IOException {
-        ProjectWriter.writeResourceFile(
-                loadMainKotlinClass(),
-                InputVerifier.capitalizeFirstLetter(projectStructure.getProjectName() + ".kt"),
-                projectStructure.getMainPath());
-        ProjectWriter.writeResourceFile(
-                loadGradleBuild(), "build.gradle", projectStructure.getProjectRoot());
-        ProjectWriter.writeResourceFile(
-                loadGradleSettings(), "settings.gradle", projectStructure.getProjectRoot());
-        if (solidityContract != null)
-            ProjectWriter.writeResourceFile(
-                    loadSolidityContract(), "HelloWorld.sol", projectStructure.getSolidityPath());
+        RenderPlan plan =
+                new RenderPlan()
+                        .addTemplate(
+                                this::loadMainKotlinClass,
+                                InputVerifier.capitalizeFirstLetter(
+                                        projectStructure.getProjectName() + ".kt"),
+                                projectStructure.getMainPath())
+                        .addTemplate(
+                                this::loadGradleBuild,
+                                "build.gradle",
+                                projectStructure.getProjectRoot())
+                        .addTemplate(
+                                this::loadGradleSettings,
+                                "settings.gradle",
+                                projectStructure.getProjectRoot());
+        if (solidityContract != null) {
+            plan.addTemplate(
+                    this::loadSolidityContract,
+                    "HelloWorld.sol",
+                    projectStructure.getSolidityPath());
+        }
         if (pathToSolidityFolder != null) {
-            ProjectWriter.importSolidityProject(
-                    new File(pathToSolidityFolder), projectStructure.getSolidityPath());
+            plan.add(
+                    () ->
+                            ProjectWriter.importSolidityProject(
+                                    new File(pathToSolidityFolder),
+                                    projectStructure.getSolidityPath()));
         }
-        ProjectWriter.writeResourceFile(
-                loadGradlewWrapperSettings(),
-                "gradle-wrapper.properties",
-                projectStructure.getWrapperPath());
-        ProjectWriter.writeResourceFile(
-                loadGradlewScript(), "gradlew", projectStructure.getProjectRoot());
-        ProjectWriter.writeResourceFile(
-                loadGradlewBatScript(), "gradlew.bat", projectStructure.getProjectRoot());
-        ProjectWriter.copyResourceFile(
-                getGradlewJar(),
-                projectStructure.getWrapperPath() + File.separator + "gradle-wrapper.jar");
+        plan.addTemplate(
+                        this::loadGradlewWrapperSettings,
+                        "gradle-wrapper.properties",
+                        projectStructure.getWrapperPath())
+                .addTemplate(this::loadGradlewScript, "gradlew", projectStructure.getProjectRoot())
+                .addTemplate(
+                        this::loadGradlewBatScript,
+                        "gradlew.bat",
+                        projectStructure.getProjectRoot())
+                .addResource(
+                        getGradlewJar(),
+                        projectStructure.getWrapperPath() + File.separator + "gradle-wrapper.jar")
+                .execute();
     }
 }
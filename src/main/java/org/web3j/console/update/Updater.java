@@ -13,6 +13,7 @@
 package org.web3j.console.update;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -28,6 +29,8 @@ import org.web3j.utils.Version;
 
 public class Updater {
 
+    static final long DEFAULT_UPDATE_CHECK_INTERVAL = TimeUnit.DAYS.toSeconds(1);
+
     private CliConfig config;
 
     public Updater(CliConfig config) {
@@ -48,8 +51,17 @@ public class Updater {
         }
     }
 
+    /** Returns true if the latest version has not been looked up within the check interval. */
+    public boolean isUpdateCheckDue() {
+        long interval =
+                config.getUpdateCheckInterval() > 0
+                        ? config.getUpdateCheckInterval()
+                        : DEFAULT_UPDATE_CHECK_INTERVAL;
+        long elapsed = System.currentTimeMillis() - config.getLastUpdateCheck();
+        return elapsed < 0 || elapsed >= TimeUnit.SECONDS.toMillis(interval);
+    }
+
     public void onlineUpdateCheck() {
-        OkHttpClient client = new OkHttpClient();
         RequestBody updateBody =
                 new MultipartBody.Builder()
                         .setType(MultipartBody.FORM)
@@ -64,8 +76,8 @@ public class Updater {
                         .post(updateBody)
                         .build();
 
-        try {
-            Response sendRawResponse = client.newCall(updateCheckRequest).execute();
+        try (Response sendRawResponse =
+                HttpClientHolder.CLIENT.newCall(updateCheckRequest).execute()) {
             JsonElement element;
             if (sendRawResponse.code() == 200
                     && sendRawResponse.body() != null
@@ -81,10 +93,20 @@ public class Updater {
                                                     ? "install_win"
                                                     : "install_unix")
                                     .getAsString());
-                    config.save();
                 }
+                config.setLastUpdateCheck(System.currentTimeMillis());
+                config.save();
             }
         } catch (Exception ignored) {
         }
     }
+
+    /** Creates the HTTP client on first use and shares it between update checks. */
+    private static class HttpClientHolder {
+        private static final OkHttpClient CLIENT =
+                new OkHttpClient.Builder()
+                        .connectTimeout(5, TimeUnit.SECONDS)
+                        .readTimeout(5, TimeUnit.SECONDS)
+                        .build();
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.console.project.utils.Folders;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.WalletUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CredentialCacheTest {
+
+    private static final String PRIVATE_KEY =
+            "0x8f2a55949038a9610f50fb23b5883af3b4ecb3c3bb792cbcefbd1542c692be63";
+    private static final String PASSWORD = "Password123";
+
+    @Test
+    public void testCachedCredentials() throws Exception {
+        File walletFile = createWalletFile();
+        CredentialCache credentialCache = new CredentialCache(1, TimeUnit.MINUTES);
+        Credentials credentials = Credentials.create(PRIVATE_KEY);
+
+        assertFalse(credentialCache.get(walletFile, PASSWORD).isPresent());
+        credentialCache.put(walletFile, PASSWORD, credentials);
+
+        Credentials cached = credentialCache.get(walletFile, PASSWORD).get();
+        assertEquals(credentials.getAddress(), cached.getAddress());
+        assertEquals(
+                credentials.getEcKeyPair().getPrivateKey(), cached.getEcKeyPair().getPrivateKey());
+    }
+
+    @Test
+    public void testWrongPasswordIsNotServed() throws Exception {
+        File walletFile = createWalletFile();
+        CredentialCache credentialCache = new CredentialCache(1, TimeUnit.MINUTES);
+        credentialCache.put(walletFile, PASSWORD, Credentials.create(PRIVATE_KEY));
+
+        assertTrue(credentialCache.get(walletFile, PASSWORD).isPresent());
+        assertFalse(credentialCache.get(walletFile, "wrong").isPresent());
+        assertFalse(credentialCache.get(walletFile, "").isPresent());
+    }
+
+    @Test
+    public void testWrongPasswordFailsOnWarmCache() throws Exception {
+        File walletDirectory = Folders.tempBuildFolder();
+        String fileName =
+                WalletUtils.generateWalletFile(
+                        PASSWORD, Keys.createEcKeyPair(), walletDirectory, false);
+        File walletFile = new File(walletDirectory, fileName);
+
+        IODevice console = mock(IODevice.class);
+        when(console.readPassword(anyString()))
+                .thenReturn("wrong".toCharArray(), PASSWORD.toCharArray());
+        WalletManager walletManager = new WalletUpdater(console);
+        walletManager.setCredentialCache(new CredentialCache(1, TimeUnit.MINUTES));
+        walletManager.setPassword(PASSWORD);
+        Credentials credentials = walletManager.getCredentials(walletFile);
+
+        walletManager.setPassword(null);
+        assertEquals(
+                credentials.getAddress(), walletManager.getCredentials(walletFile).getAddress());
+        verify(console).printf("Invalid password specified\n");
+        verify(console, times(2)).readPassword(anyString());
+    }
+
+    @Test
+    public void testModifiedWalletFileIsNotServed() throws Exception {
+        File walletFile = createWalletFile();
+        CredentialCache credentialCache = new CredentialCache(1, TimeUnit.MINUTES);
+        credentialCache.put(walletFile, PASSWORD, Credentials.create(PRIVATE_KEY));
+
+        Files.write(walletFile.toPath(), " ".getBytes(), StandardOpenOption.APPEND);
+
+        assertFalse(credentialCache.get(walletFile, PASSWORD).isPresent());
+    }
+
+    @Test
+    public void testExpiredCredentialsAreEvicted() throws Exception {
+        File walletFile = createWalletFile();
+        CredentialCache credentialCache = new CredentialCache(50, TimeUnit.MILLISECONDS);
+        credentialCache.put(walletFile, PASSWORD, Credentials.create(PRIVATE_KEY));
+
+        Thread.sleep(200);
+
+        assertEquals(0, credentialCache.size());
+        assertFalse(credentialCache.get(walletFile, PASSWORD).isPresent());
+    }
+
+    private static File createWalletFile() throws Exception {
+        File walletFile = new File(Folders.tempBuildFolder(), "wallet.json");
+        Files.write(walletFile.toPath(), "{\"version\":3}".getBytes());
+        return walletFile;
+    }
+}
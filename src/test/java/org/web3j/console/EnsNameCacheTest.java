@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.console.project.utils.Folders;
+import org.web3j.ens.EnsResolutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EnsNameCacheTest {
+
+    private static final String ADDRESS = "0xef678007d18427e6022059dbc264f27507cd1ffc";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void testResolveDistinctNamesOnce() {
+        EnsNameCache ensNameCache = new EnsNameCache(1000, 10, null, clock::get);
+        Map<String, AtomicInteger> resolutions = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < 3; i++) {
+            Map<String, String> addresses =
+                    ensNameCache.resolveAll(
+                            Arrays.asList("a.eth", "b.eth", "a.eth"),
+                            name -> {
+                                resolutions
+                                        .computeIfAbsent(name, key -> new AtomicInteger())
+                                        .incrementAndGet();
+                                return ADDRESS;
+                            });
+            assertEquals(2, addresses.size());
+        }
+
+        assertEquals(1, resolutions.get("a.eth").get());
+        assertEquals(1, resolutions.get("b.eth").get());
+    }
+
+    @Test
+    public void testExpiry() {
+        EnsNameCache ensNameCache = new EnsNameCache(1000, 10, null, clock::get);
+        ensNameCache.put("a.eth", ADDRESS);
+
+        clock.set(999);
+        assertEquals(ADDRESS, ensNameCache.get("a.eth"));
+        clock.set(1000);
+        assertNull(ensNameCache.get("a.eth"));
+    }
+
+    @Test
+    public void testBoundedSize() {
+        EnsNameCache ensNameCache = new EnsNameCache(1000, 2, null, clock::get);
+        ensNameCache.put("a.eth", ADDRESS);
+        ensNameCache.put("b.eth", ADDRESS);
+        ensNameCache.get("a.eth");
+        ensNameCache.put("c.eth", ADDRESS);
+
+        assertEquals(ADDRESS, ensNameCache.get("a.eth"));
+        assertNull(ensNameCache.get("b.eth"));
+        assertEquals(ADDRESS, ensNameCache.get("c.eth"));
+    }
+
+    @Test
+    public void testPersistence() {
+        File file = new File(Folders.tempBuildFolder(), "ens-cache.json");
+        new EnsNameCache(1000, 10, file, clock::get)
+                .resolveAll(Arrays.asList("a.eth"), name -> ADDRESS);
+
+        assertEquals(ADDRESS, new EnsNameCache(1000, 10, file, clock::get).get("a.eth"));
+        clock.set(1000);
+        assertNull(new EnsNameCache(1000, 10, file, clock::get).get("a.eth"));
+    }
+
+    @Test
+    public void testUnresolvableName() {
+        EnsNameCache ensNameCache = new EnsNameCache(1000, 10, null, clock::get);
+
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        ensNameCache.resolveAll(
+                                Arrays.asList("missing.eth"),
+                                name -> {
+                                    throw new EnsResolutionException("not found");
+                                }));
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.http.HttpService;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class EthereumClientFactoryTest {
+
+    @AfterEach
+    void tearDown() {
+        EthereumClientFactory.shutdown();
+    }
+
+    @Test
+    public void testClientsAreCachedPerEndpoint() {
+        Web3j client = EthereumClientFactory.getClient(HttpService.DEFAULT_URL);
+
+        assertSame(client, EthereumClientFactory.getClient(HttpService.DEFAULT_URL));
+        assertSame(client, EthereumClientFactory.getClient(""));
+        assertNotSame(client, EthereumClientFactory.getClient("http://localhost:8546"));
+    }
+
+    @Test
+    public void testShutdownReleasesClients() {
+        Web3j client = EthereumClientFactory.getClient("http://localhost:8545");
+        EthereumClientFactory.shutdown();
+
+        assertNotSame(client, EthereumClientFactory.getClient("http://localhost:8545"));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GasPriceStrategyTest {
+
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final Web3j web3j = Web3j.build(web3jService);
+
+    @Test
+    public void testParse() {
+        GasPriceStrategy fixed = GasPriceStrategy.parse("20000000000");
+        assertFalse(fixed.requiresClient());
+        assertTrue(GasPriceStrategy.parse("node") instanceof GasPriceStrategy.NodeSuggested);
+        assertTrue(GasPriceStrategy.parse("node:60") instanceof GasPriceStrategy.NodeSuggested);
+        assertTrue(
+                GasPriceStrategy.parse("percentile:60,10") instanceof GasPriceStrategy.Percentile);
+        assertThrows(
+                IllegalArgumentException.class, () -> GasPriceStrategy.parse("percentile:101"));
+        assertThrows(IllegalArgumentException.class, () -> GasPriceStrategy.parse("cheap"));
+    }
+
+    @Test
+    public void testFixed() throws Exception {
+        assertEquals(BigInteger.TEN, GasPriceStrategy.fixed(BigInteger.TEN).getGasPrice(null));
+    }
+
+    @Test
+    public void testNodeSuggestedIsCached() throws Exception {
+        EthGasPrice ethGasPrice = new EthGasPrice();
+        ethGasPrice.setResult("0x3b9aca00");
+        when(web3jService.send(any(), eq(EthGasPrice.class))).thenReturn(ethGasPrice);
+        AtomicLong clock = new AtomicLong();
+        GasPriceStrategy strategy = new GasPriceStrategy.NodeSuggested(1000, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(BigInteger.valueOf(1_000_000_000L), strategy.getGasPrice(web3j));
+        }
+        verify(web3jService, times(1)).send(any(), eq(EthGasPrice.class));
+
+        clock.set(1000);
+        strategy.getGasPrice(web3j);
+        verify(web3jService, times(2)).send(any(), eq(EthGasPrice.class));
+    }
+
+    @Test
+    public void testNodeSuggestedError() throws Exception {
+        EthGasPrice ethGasPrice = new EthGasPrice();
+        ethGasPrice.setError(new Response.Error(-32000, "node is syncing"));
+        when(web3jService.send(any(), eq(EthGasPrice.class))).thenReturn(ethGasPrice);
+
+        IOException exception =
+                assertThrows(
+                        IOException.class,
+                        () ->
+                                GasPriceStrategy.nodeSuggested(1, TimeUnit.SECONDS)
+                                        .getGasPrice(web3j));
+        assertTrue(exception.getMessage().contains("node is syncing"));
+    }
+
+    @Test
+    public void testPercentile() throws Exception {
+        EthBlockNumber ethBlockNumber = new EthBlockNumber();
+        ethBlockNumber.setResult("0x1");
+        when(web3jService.send(any(), eq(EthBlockNumber.class))).thenReturn(ethBlockNumber);
+        when(web3jService.sendBatch(any()))
+                .thenAnswer(invocation -> reply(invocation.getArgument(0)));
+
+        GasPriceStrategy strategy = new GasPriceStrategy.Percentile(50, 5, 1000, () -> 0L);
+
+        // blocks 1 and 0 contain gas prices 1..4 and 5..8
+        assertEquals(BigInteger.valueOf(4), strategy.getGasPrice(web3j));
+    }
+
+    @Test
+    public void testPercentileError() throws Exception {
+        EthBlockNumber ethBlockNumber = new EthBlockNumber();
+        ethBlockNumber.setError(new Response.Error(-32000, "header not found"));
+        when(web3jService.send(any(), eq(EthBlockNumber.class))).thenReturn(ethBlockNumber);
+
+        GasPriceStrategy strategy = new GasPriceStrategy.Percentile(50, 5, 1000, () -> 0L);
+
+        IOException exception = assertThrows(IOException.class, () -> strategy.getGasPrice(web3j));
+        assertTrue(exception.getMessage().contains("header not found"));
+    }
+
+    // Block.setTransactions only accepts a list of the raw TransactionResult type
+    @SuppressWarnings("rawtypes")
+    private static BatchResponse reply(BatchRequest batchRequest) {
+        List<Response<?>> responses = new ArrayList<>();
+        for (int i = 0; i < batchRequest.getRequests().size(); i++) {
+            List<EthBlock.TransactionResult> transactions = new ArrayList<>();
+            for (int j = 1; j <= 4; j++) {
+                EthBlock.TransactionObject transaction = new EthBlock.TransactionObject();
+                transaction.setGasPrice("0x" + Integer.toHexString(i * 4 + j));
+                transactions.add(transaction);
+            }
+            EthBlock.Block block = new EthBlock.Block();
+            block.setTransactions(transactions);
+            EthBlock ethBlock = new EthBlock();
+            ethBlock.setResult(block);
+            responses.add(ethBlock);
+        }
+        return new BatchResponse(batchRequest.getRequests(), responses);
+    }
+}
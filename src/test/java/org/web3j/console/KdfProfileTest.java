@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.console.project.utils.Folders;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.WalletUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.web3j.console.SampleKeys.PASSWORD;
+
+public class KdfProfileTest {
+
+    @Test
+    public void testParseProfiles() {
+        assertSame(KdfProfile.STANDARD, KdfProfile.parse("standard"));
+        assertSame(KdfProfile.LIGHT, KdfProfile.parse("light"));
+
+        KdfProfile custom = KdfProfile.parse("custom:1024,2");
+        assertEquals(1024, custom.getN());
+        assertEquals(2, custom.getP());
+    }
+
+    @Test
+    public void testParseInvalidProfiles() {
+        assertThrows(IllegalArgumentException.class, () -> KdfProfile.parse("fast"));
+        assertThrows(IllegalArgumentException.class, () -> KdfProfile.parse("custom:1000,1"));
+        assertThrows(IllegalArgumentException.class, () -> KdfProfile.parse("custom:1024"));
+        assertThrows(IllegalArgumentException.class, () -> KdfProfile.parse("custom:a,b"));
+    }
+
+    @Test
+    public void testGenerateWalletFile() throws Exception {
+        File destination = Folders.tempBuildFolder();
+        Credentials credentials = Credentials.create(SampleKeys.PRIVATE_KEY_STRING);
+
+        String walletFileName =
+                KdfProfile.parse("custom:1024,1")
+                        .generateWalletFile(PASSWORD, credentials.getEcKeyPair(), destination);
+
+        assertTrue(walletFileName.endsWith(SampleKeys.ADDRESS_NO_PREFIX + ".json"));
+        assertEquals(1, destination.listFiles().length);
+        assertEquals(
+                credentials,
+                WalletUtils.loadCredentials(PASSWORD, new File(destination, walletFileName)));
+    }
+}
@@ -12,11 +12,16 @@
  */
 package org.web3j.console;
 
+import java.io.File;
+
 import org.junit.jupiter.api.Test;
 
 import org.web3j.console.project.utils.Folders;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -43,6 +48,27 @@ public class KeyImporterTest {
                 Folders.tempBuildFolder().getAbsolutePath());
     }
 
+    @Test
+    public void testBatchImportFromKeyListFile() {
+        File destination = Folders.tempBuildFolder();
+        when(console.readPassword(contains("password")))
+                .thenReturn(WALLET_PASSWORD, WALLET_PASSWORD);
+        when(console.readLine(contains("Please enter a destination directory location")))
+                .thenReturn(destination.getAbsolutePath());
+
+        KeyImporter.main(
+                console,
+                KdfProfile.LIGHT,
+                KeyImporterTest.class
+                        .getResource("/keyfiles/" + "sample-private-keys.txt")
+                        .getFile(),
+                2);
+
+        verify(console).printf(contains("Skipping invalid private key"), eq(3));
+        verify(console).printf(contains("successfully created in"), any(), any(), any(), any());
+        assertEquals(2, destination.listFiles().length);
+    }
+
     private void prepareWalletCreation(String input, String tempDirPath) {
         when(console.readLine(startsWith("Please enter the hex encoded private key")))
                 .thenReturn(input);
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.console.project.utils.Folders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeystoreIndexTest {
+
+    private static final String FIRST_WALLET =
+            "UTC--2016-11-03T05-55-06.340672473Z--ef678007d18427e6022059dbc264f27507cd1ffc";
+    private static final String SECOND_WALLET =
+            "UTC--2016-11-03T07-47-45.988Z--4f9c1a1efaa7d81ba1cabf07f2c3a5ac5cf4f818";
+
+    private File keystoreDirectory;
+    private File indexFile;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        File root = Folders.tempBuildFolder();
+        keystoreDirectory = new File(root, "keystore");
+        indexFile = new File(new File(root, "index"), "keystore.json");
+        assertTrue(keystoreDirectory.mkdir());
+        copyKeyFile(FIRST_WALLET);
+        Files.write(Paths.get(keystoreDirectory.getPath(), "notes.txt"), "notes".getBytes());
+    }
+
+    @Test
+    public void testFind() throws Exception {
+        KeystoreIndex keystoreIndex = new KeystoreIndex(keystoreDirectory, indexFile);
+
+        assertEquals(
+                new File(keystoreDirectory, FIRST_WALLET),
+                keystoreIndex.find("0xEF678007D18427E6022059DBC264F27507CD1FFC").get());
+        assertFalse(keystoreIndex.find("0x4f9c1a1efaa7d81ba1cabf07f2c3a5ac5cf4f818").isPresent());
+        assertTrue(indexFile.exists());
+    }
+
+    @Test
+    public void testFindNewWalletFile() throws Exception {
+        KeystoreIndex keystoreIndex = new KeystoreIndex(keystoreDirectory, indexFile);
+        keystoreIndex.refresh();
+
+        copyKeyFile(SECOND_WALLET);
+
+        assertEquals(
+                new File(keystoreDirectory, SECOND_WALLET),
+                keystoreIndex.find("4f9c1a1efaa7d81ba1cabf07f2c3a5ac5cf4f818").get());
+    }
+
+    @Test
+    public void testPersistedIndex() throws Exception {
+        new KeystoreIndex(keystoreDirectory, indexFile).refresh();
+
+        assertEquals(
+                new File(keystoreDirectory, FIRST_WALLET),
+                new KeystoreIndex(keystoreDirectory, indexFile)
+                        .find("ef678007d18427e6022059dbc264f27507cd1ffc")
+                        .get());
+    }
+
+    @Test
+    public void testFindDuplicateAddress() throws Exception {
+        String updatedWallet =
+                "UTC--2016-11-03T05-55-06.5Z--ef678007d18427e6022059dbc264f27507cd1ffc";
+        String olderWallet =
+                "UTC--2015-01-01T00-00-00.0Z--ef678007d18427e6022059dbc264f27507cd1ffc";
+        for (String name : new String[] {updatedWallet, olderWallet, "backup.json"}) {
+            Files.copy(
+                    Paths.get(keystoreDirectory.getPath(), FIRST_WALLET),
+                    Paths.get(keystoreDirectory.getPath(), name));
+        }
+
+        assertEquals(
+                new File(keystoreDirectory, updatedWallet),
+                new KeystoreIndex(keystoreDirectory, indexFile)
+                        .find("ef678007d18427e6022059dbc264f27507cd1ffc")
+                        .get());
+    }
+
+    @Test
+    public void testReadAddress() {
+        assertEquals(
+                "ef678007d18427e6022059dbc264f27507cd1ffc",
+                KeystoreIndex.readAddress(new File(keystoreDirectory, FIRST_WALLET)));
+        assertNull(KeystoreIndex.readAddress(new File(keystoreDirectory, "notes.txt")));
+    }
+
+    private void copyKeyFile(String name) throws Exception {
+        Files.copy(
+                Paths.get(KeystoreIndexTest.class.getResource("/keyfiles/" + name).getFile()),
+                Paths.get(keystoreDirectory.getPath(), name));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import org.web3j.console.project.utils.Folders;
+import org.web3j.crypto.WalletUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Runs the main commands against the native executable built by the nativeImage task. */
+@EnabledIfSystemProperty(named = "web3j.nativeImage", matches = ".+")
+public class NativeImageSmokeTest {
+
+    private static final String PASSWORD = "Pa$$w0rd";
+
+    private File workingDirectory;
+
+    @BeforeEach
+    public void setUp() {
+        workingDirectory = Folders.tempBuildFolder().getAbsoluteFile();
+    }
+
+    @Test
+    public void testVersion() throws Exception {
+        String output = run("version");
+        assertTrue(output.contains("Version: "), output);
+    }
+
+    @Test
+    public void testWalletCreate() throws Exception {
+        File destination = new File(workingDirectory, "wallets");
+        run(
+                "wallet",
+                "create",
+                "--kdf",
+                "light",
+                "--password-env",
+                "WEB3J_SMOKE_TEST_PASSWORD",
+                "--destination",
+                destination.getPath());
+
+        File[] walletFiles = destination.listFiles();
+        assertNotNull(walletFiles);
+        assertEquals(1, walletFiles.length);
+        assertNotNull(WalletUtils.loadCredentials(PASSWORD, walletFiles[0]).getAddress());
+    }
+
+    @Test
+    public void testNew() throws Exception {
+        run("new", "-n", "Smoke", "-p", "org.web3j.smoke", "-o", workingDirectory.getPath());
+
+        File project = new File(workingDirectory, "Smoke");
+        assertTrue(new File(project, "build.gradle").exists());
+        assertTrue(new File(project, "gradle/wrapper/gradle-wrapper.jar").exists());
+    }
+
+    @Test
+    public void testSolidityGenerate() throws Exception {
+        File resources = new File(System.getProperty("web3j.cdsResources"));
+        run(
+                "solidity",
+                "generate",
+                "-a",
+                new File(resources, "Training.abi").getPath(),
+                "-b",
+                new File(resources, "Training.bin").getPath(),
+                "-o",
+                workingDirectory.getPath(),
+                "-p",
+                "org.web3j.smoke");
+
+        assertTrue(new File(workingDirectory, "org/web3j/smoke/Training.java").exists());
+    }
+
+    private String run(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("web3j.nativeImage"));
+        command.addAll(Arrays.asList(args));
+
+        File output = new File(workingDirectory, "output.txt");
+        ProcessBuilder processBuilder =
+                new ProcessBuilder(command)
+                        .directory(workingDirectory)
+                        .redirectErrorStream(true)
+                        .redirectOutput(output);
+        processBuilder.environment().put("WEB3J_DISABLE_UPDATE_CHECK", "true");
+        processBuilder.environment().put("WEB3J_SMOKE_TEST_PASSWORD", PASSWORD);
+        Process process = processBuilder.start();
+
+        assertTrue(process.waitFor(10, TimeUnit.MINUTES), "Timed out running " + command);
+        String text = new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+        assertEquals(0, process.exitValue(), text);
+        return text;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.utils.Convert;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PayoutTest {
+
+    @Test
+    public void testReadPayouts() throws Exception {
+        List<Payout> payouts =
+                Payout.readPayouts(
+                        new File(
+                                PayoutTest.class
+                                        .getResource("/payouts/sample-payouts.csv")
+                                        .getFile()));
+
+        assertEquals(3, payouts.size());
+        assertEquals(SampleKeys.ADDRESS, payouts.get(0).getDestination());
+        assertEquals(Convert.Unit.ETHER, payouts.get(0).getUnit());
+        assertEquals(new BigInteger("1500000000000000000"), payouts.get(0).getAmountInWei());
+        assertEquals(new BigInteger("250000000000"), payouts.get(1).getAmountInWei());
+        assertEquals("web3j.eth", payouts.get(2).getDestination());
+    }
+
+    @Test
+    public void testParseInvalidPayouts() {
+        assertThrows(IllegalArgumentException.class, () -> Payout.parse(SampleKeys.ADDRESS));
+        assertThrows(
+                IllegalArgumentException.class, () -> Payout.parse(SampleKeys.ADDRESS + ",-1"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Payout.parse(SampleKeys.ADDRESS + ",1,lightyears"));
+        assertThrows(
+                ArithmeticException.class, () -> Payout.parse(SampleKeys.ADDRESS + ",0.5,wei"));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReceiptTrackerTest {
+
+    private static final String TRANSACTION_HASH = "0x1234";
+
+    private final Web3j web3j = mock(Web3j.class);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReceiptIsTrackedWithBackoff() throws Exception {
+        TransactionReceipt transactionReceipt = new TransactionReceipt();
+        transactionReceipt.setTransactionHash(TRANSACTION_HASH);
+
+        Request<?, EthGetTransactionReceipt> request = mock(Request.class);
+        when(request.sendAsync())
+                .thenReturn(
+                        CompletableFuture.completedFuture(receiptResponse(null)),
+                        CompletableFuture.completedFuture(receiptResponse(null)),
+                        CompletableFuture.completedFuture(receiptResponse(transactionReceipt)));
+        doReturn(request).when(web3j).ethGetTransactionReceipt(anyString());
+
+        AtomicInteger pending = new AtomicInteger();
+        try (ReceiptTracker receiptTracker = ReceiptTracker.polling(web3j, 10, 20, 5000)) {
+            TransactionReceipt result =
+                    receiptTracker
+                            .track(TRANSACTION_HASH, pending::incrementAndGet)
+                            .get(5, TimeUnit.SECONDS);
+
+            assertEquals(TRANSACTION_HASH, result.getTransactionHash());
+            assertEquals(2, pending.get());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReceiptTimeout() {
+        Request<?, EthGetTransactionReceipt> request = mock(Request.class);
+        when(request.sendAsync())
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(receiptResponse(null)));
+        doReturn(request).when(web3j).ethGetTransactionReceipt(anyString());
+
+        try (ReceiptTracker receiptTracker = ReceiptTracker.polling(web3j, 10, 20, 100)) {
+            ExecutionException exception =
+                    assertThrows(
+                            ExecutionException.class,
+                            () -> receiptTracker.track(TRANSACTION_HASH).get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof TransactionException);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPollErrorsAreRetried() throws Exception {
+        TransactionReceipt transactionReceipt = new TransactionReceipt();
+        transactionReceipt.setTransactionHash(TRANSACTION_HASH);
+        CompletableFuture<EthGetTransactionReceipt> timedOut = new CompletableFuture<>();
+        timedOut.completeExceptionally(new IOException("timeout"));
+        EthGetTransactionReceipt serverError = receiptResponse(null);
+        serverError.setError(new Response.Error(-32000, "service unavailable"));
+
+        Request<?, EthGetTransactionReceipt> request = mock(Request.class);
+        when(request.sendAsync())
+                .thenReturn(
+                        timedOut,
+                        CompletableFuture.completedFuture(serverError),
+                        CompletableFuture.completedFuture(receiptResponse(transactionReceipt)));
+        doReturn(request).when(web3j).ethGetTransactionReceipt(anyString());
+
+        try (ReceiptTracker receiptTracker = ReceiptTracker.polling(web3j, 10, 20, 5000)) {
+            TransactionReceipt result =
+                    receiptTracker.track(TRANSACTION_HASH).get(5, TimeUnit.SECONDS);
+
+            assertEquals(TRANSACTION_HASH, result.getTransactionHash());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPollErrorsFailOnTimeout() {
+        Request<?, EthGetTransactionReceipt> request = mock(Request.class);
+        when(request.sendAsync())
+                .thenAnswer(
+                        invocation -> {
+                            CompletableFuture<EthGetTransactionReceipt> error =
+                                    new CompletableFuture<>();
+                            error.completeExceptionally(new IOException("node unavailable"));
+                            return error;
+                        });
+        doReturn(request).when(web3j).ethGetTransactionReceipt(anyString());
+
+        try (ReceiptTracker receiptTracker = ReceiptTracker.polling(web3j, 10, 20, 100)) {
+            ExecutionException exception =
+                    assertThrows(
+                            ExecutionException.class,
+                            () -> receiptTracker.track(TRANSACTION_HASH).get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof TransactionException);
+            assertTrue(exception.getCause().getMessage().contains("node unavailable"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLaterNoncesFailWithEarlierOne() {
+        Request<?, EthGetTransactionReceipt> pending = mock(Request.class);
+        when(pending.sendAsync())
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(receiptResponse(null)));
+        Request<?, EthGetTransactionReceipt> unanswered = mock(Request.class);
+        when(unanswered.sendAsync()).thenReturn(new CompletableFuture<>());
+        doReturn(pending).when(web3j).ethGetTransactionReceipt("0x01");
+        doReturn(unanswered).when(web3j).ethGetTransactionReceipt("0x02");
+
+        // the later transaction never gets a response, so only the earlier timeout can fail it
+        try (ReceiptTracker receiptTracker = ReceiptTracker.polling(web3j, 10, 20, 100)) {
+            List<CompletableFuture<TransactionReceipt>> receipts =
+                    receiptTracker.trackInNonceOrder(Arrays.asList("0x01", "0x02"));
+
+            ExecutionException exception =
+                    assertThrows(
+                            ExecutionException.class,
+                            () -> receipts.get(1).get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof TransactionException);
+            assertTrue(exception.getCause().getMessage().contains("earlier nonce"));
+            assertTrue(receipts.get(0).isCompletedExceptionally());
+        }
+    }
+
+    private static EthGetTransactionReceipt receiptResponse(TransactionReceipt receipt) {
+        EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+        response.setResult(receipt);
+        return response;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Keys;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class VanityGeneratorTest {
+
+    private final VanityGenerator vanityGenerator = new VanityGenerator(mock(IODevice.class));
+
+    @Test
+    public void testParseDigits() {
+        assertArrayEquals(new byte[] {0xa, 0xb, 0x1}, VanityGenerator.parseDigits("0xAb1"));
+        assertArrayEquals(new byte[0], VanityGenerator.parseDigits(""));
+    }
+
+    @Test
+    public void testMatches() {
+        byte[] hash =
+                Numeric.hexStringToByteArray(
+                        "000000000000000000000000ab12000000000000000000000000000000000fe9");
+
+        assertTrue(VanityGenerator.matches(hash, digits("ab1"), digits("")));
+        assertTrue(VanityGenerator.matches(hash, digits(""), digits("fe9")));
+        assertTrue(VanityGenerator.matches(hash, digits("ab12"), digits("0fe9")));
+        assertFalse(VanityGenerator.matches(hash, digits("ab2"), digits("")));
+        assertFalse(VanityGenerator.matches(hash, digits(""), digits("fe8")));
+    }
+
+    @Test
+    public void testSearch() {
+        ECKeyPair ecKeyPair = vanityGenerator.search(digits("ab"), digits("c"), 2);
+
+        String address = Keys.getAddress(ecKeyPair);
+        assertTrue(address.startsWith("ab"));
+        assertTrue(address.endsWith("c"));
+    }
+
+    private static byte[] digits(String hex) {
+        return VanityGenerator.parseDigits(hex);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WalletBalanceTest {
+
+    private final IODevice console = mock(IODevice.class);
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final Web3j web3j = Web3j.build(web3jService);
+
+    @Test
+    public void testBatchedBalances() throws Exception {
+        when(web3jService.sendBatch(any()))
+                .thenAnswer(invocation -> reply(invocation.getArgument(0)));
+        List<String> addresses = createAddresses(25);
+
+        Map<String, EthGetBalance> balances =
+                new WalletBalance(console).getBalances(web3j, addresses, 10, 2);
+
+        verify(web3jService, times(3)).sendBatch(any());
+        assertEquals(25, balances.size());
+        for (int i = 0; i < addresses.size(); i++) {
+            assertEquals(BigInteger.valueOf(i), balances.get(addresses.get(i)).getBalance());
+        }
+    }
+
+    @Test
+    public void testBalanceSummary() throws Exception {
+        when(web3jService.sendBatch(any()))
+                .thenAnswer(invocation -> reply(invocation.getArgument(0)));
+
+        WalletBalance.main(console, web3j, createAddresses(4), 2, 2);
+
+        verify(console).printf(contains("Total of %d balances"), any(), any(), any(), any());
+    }
+
+    private static List<String> createAddresses(int count) {
+        List<String> addresses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            addresses.add(Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(i), 40));
+        }
+        return addresses;
+    }
+
+    private static BatchResponse reply(BatchRequest batchRequest) {
+        List<Response<?>> responses = new ArrayList<>();
+        for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            EthGetBalance response = new EthGetBalance();
+            response.setId(request.getId());
+            String address = (String) request.getParams().get(0);
+            response.setResult(Numeric.toHexStringWithPrefix(Numeric.toBigInt(address)));
+            responses.add(response);
+        }
+        // answer out of order, as nodes are allowed to
+        Collections.reverse(responses);
+        return new BatchResponse(batchRequest.getRequests(), responses);
+    }
+}
@@ -12,10 +12,14 @@
  */
 package org.web3j.console;
 
+import java.io.File;
+
 import org.junit.jupiter.api.Test;
 
 import org.web3j.console.project.utils.Folders;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
@@ -38,4 +42,18 @@ public class WalletCreatorTest {
 
         verify(console).printf(contains("successfully created in"));
     }
+
+    @Test
+    public void testBulkWalletCreation() {
+        File destination = Folders.tempBuildFolder();
+        when(console.readPassword(contains("password")))
+                .thenReturn(WALLET_PASSWORD, WALLET_PASSWORD);
+        when(console.readLine(startsWith("Please enter a destination directory ")))
+                .thenReturn(destination.getAbsolutePath());
+
+        WalletCreator.main(console, KdfProfile.LIGHT, 2, 2);
+
+        verify(console).printf(contains("successfully created in"), any());
+        assertEquals(2, destination.listFiles().length);
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.console.project.utils.Folders;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WalletSignerTest {
+
+    private static final Credentials CREDENTIALS =
+            Credentials.create(
+                    "0x8f2a55949038a9610f50fb23b5883af3b4ecb3c3bb792cbcefbd1542c692be63");
+
+    private final IODevice console = mock(IODevice.class);
+
+    @Test
+    public void testOfflineSigning() throws Exception {
+        File root = Folders.tempBuildFolder();
+        File output = new File(root, "signed.txt");
+        File payouts = createPayouts(root);
+
+        WalletSigner.main(
+                console,
+                CREDENTIALS,
+                payouts.getAbsolutePath(),
+                output.getAbsolutePath(),
+                BigInteger.valueOf(7),
+                BigInteger.valueOf(1_000_000_000L));
+
+        List<String> lines = Files.readAllLines(output.toPath(), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            SignedRawTransaction transaction =
+                    (SignedRawTransaction) TransactionDecoder.decode(lines.get(i));
+            assertEquals(CREDENTIALS.getAddress(), transaction.getFrom());
+            assertEquals(BigInteger.valueOf(7 + i), transaction.getNonce());
+        }
+        assertEquals(
+                "0x4f9c1a1efaa7d81ba1cabf07f2c3a5ac5cf4f818",
+                TransactionDecoder.decode(lines.get(1)).getTo());
+    }
+
+    @Test
+    public void testBroadcast() throws Exception {
+        File root = Folders.tempBuildFolder();
+        File output = new File(root, "signed.txt");
+        WalletSigner.main(
+                console,
+                CREDENTIALS,
+                createPayouts(root).getAbsolutePath(),
+                output.getAbsolutePath(),
+                BigInteger.ZERO,
+                BigInteger.ONE);
+
+        Web3jService web3jService = mock(Web3jService.class);
+        EthSendTransaction response = new EthSendTransaction();
+        response.setResult("0x01");
+        when(web3jService.send(any(), eq(EthSendTransaction.class))).thenReturn(response);
+
+        WalletBroadcaster.main(console, Web3j.build(web3jService), output.getAbsolutePath(), 1);
+
+        verify(web3jService, times(2)).send(any(), eq(EthSendTransaction.class));
+        verify(console, times(2)).printf(contains("transaction hash"), any(), any());
+        verify(console).printf(contains("successfully submitted"), eq(2), eq(2), any());
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testBroadcastStopsAtFirstRejectedNonce() throws Exception {
+        File root = Folders.tempBuildFolder();
+        File output = new File(root, "signed.txt");
+        WalletSigner.main(
+                console,
+                CREDENTIALS,
+                createPayouts(root).getAbsolutePath(),
+                output.getAbsolutePath(),
+                BigInteger.valueOf(3),
+                BigInteger.ONE);
+        List<String> lines = Files.readAllLines(output.toPath(), StandardCharsets.UTF_8);
+        Collections.reverse(lines);
+        Files.write(output.toPath(), lines, StandardCharsets.UTF_8);
+
+        Web3jService web3jService = mock(Web3jService.class);
+        EthSendTransaction response = new EthSendTransaction();
+        response.setError(new Response.Error(-32000, "insufficient funds"));
+        when(web3jService.send(any(), eq(EthSendTransaction.class))).thenReturn(response);
+
+        WalletBroadcaster.main(console, Web3j.build(web3jService), output.getAbsolutePath(), 4);
+
+        // the lowest nonce is sent first even though it is last in the file
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(web3jService).send(request.capture(), eq(EthSendTransaction.class));
+        assertEquals(lines.get(1), request.getValue().getParams().get(0));
+        verify(console)
+                .printf(
+                        contains("first nonce not sent"),
+                        eq(CREDENTIALS.getAddress()),
+                        eq(BigInteger.valueOf(3)),
+                        eq(2));
+        verify(console).printf(contains("successfully submitted"), eq(0), eq(2), any());
+    }
+
+    private static File createPayouts(File root) throws Exception {
+        File payouts = new File(root, "payouts.csv");
+        Files.write(
+                payouts.toPath(),
+                Arrays.asList(
+                        "0xef678007d18427e6022059dbc264f27507cd1ffc,1.5",
+                        "0x4f9c1a1efaa7d81ba1cabf07f2c3a5ac5cf4f818,250,gwei"),
+                StandardCharsets.UTF_8);
+        return payouts;
+    }
+}
@@ -12,10 +12,24 @@
  */
 package org.web3j.console;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.Permission;
+
 import org.junit.jupiter.api.Test;
 
 import org.web3j.console.project.utils.Folders;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
@@ -47,4 +61,114 @@ public class WalletUpdaterTest {
 
         verify(console).printf(contains("successfully created in"));
     }
+
+    @Test
+    public void testWalletDirectoryUpdate() throws Exception {
+        File root = Folders.tempBuildFolder();
+        File walletDirectory = new File(root, "wallets");
+        File destination = new File(root, "updated");
+        assertTrue(walletDirectory.mkdir());
+        copyKeyFile(
+                "UTC--2016-11-03T05-55-06.340672473Z--ef678007d18427e6022059dbc264f27507cd1ffc",
+                walletDirectory);
+        Files.write(Paths.get(walletDirectory.getPath(), "notes.txt"), "not a wallet".getBytes());
+
+        when(console.readPassword(startsWith("Please enter your existing wallet file password")))
+                .thenReturn(WALLET_PASSWORD);
+        when(console.readPassword(contains("new wallet file password")))
+                .thenReturn(WALLET_PASSWORD);
+        when(console.readPassword(startsWith("Please re-enter"))).thenReturn(WALLET_PASSWORD);
+        when(console.readLine(startsWith("Please enter a destination directory ")))
+                .thenReturn(destination.getAbsolutePath());
+        when(console.readLine(startsWith("Would you like to delete"), any())).thenReturn("Y");
+
+        WalletUpdater.main(console, KdfProfile.LIGHT, walletDirectory.getAbsolutePath(), 2);
+
+        verify(console).printf(contains("-> failed"), any(), any());
+        verify(console).printf(contains("successfully updated in"), any(), any(), any(), any());
+        assertEquals(1, destination.listFiles().length);
+        assertEquals(1, walletDirectory.listFiles().length);
+    }
+
+    @Test
+    public void testNonInteractiveDirectoryUpdate() throws Exception {
+        File root = Folders.tempBuildFolder();
+        File walletDirectory = new File(root, "wallets");
+        File destination = new File(root, "updated");
+        assertTrue(walletDirectory.mkdir());
+        copyKeyFile(
+                "UTC--2016-11-03T05-55-06.340672473Z--ef678007d18427e6022059dbc264f27507cd1ffc",
+                walletDirectory);
+        File passwordFile = new File(root, "password.txt");
+        Files.write(passwordFile.toPath(), (new String(WALLET_PASSWORD) + "\n").getBytes());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StreamDevice device =
+                new StreamDevice(new ByteArrayInputStream(new byte[0]), new PrintStream(output));
+        new WalletUpdater(device)
+                .execute(
+                        new String[] {
+                            walletDirectory.getAbsolutePath(),
+                            "--kdf",
+                            "light",
+                            "--password-file",
+                            passwordFile.getAbsolutePath(),
+                            "--new-password-file",
+                            passwordFile.getAbsolutePath(),
+                            "--destination",
+                            destination.getAbsolutePath(),
+                            "--yes"
+                        });
+
+        assertTrue(output.toString().contains("1 of 1 wallet files successfully updated"));
+        assertEquals(1, destination.listFiles().length);
+        assertEquals(0, walletDirectory.listFiles().length);
+    }
+
+    @Test
+    public void testInvalidPasswordFollowedByEndOfInput() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StreamDevice device =
+                new StreamDevice(
+                        new ByteArrayInputStream("wrong\n".getBytes(StandardCharsets.UTF_8)),
+                        new PrintStream(output));
+        String walletFile =
+                KeyImporterTest.class
+                        .getResource(
+                                "/keyfiles/"
+                                        + "UTC--2016-11-03T05-55-06.340672473Z--ef678007d18427e6022059dbc264f27507cd1ffc")
+                        .getFile();
+
+        SecurityManager securityManager = System.getSecurityManager();
+        System.setSecurityManager(new ExitTrap());
+        try {
+            SecurityException exit =
+                    assertThrows(
+                            SecurityException.class, () -> WalletUpdater.main(device, walletFile));
+            assertEquals("exit 1", exit.getMessage());
+        } finally {
+            System.setSecurityManager(securityManager);
+        }
+        assertTrue(output.toString().contains("Invalid password specified"));
+    }
+
+    /** Turns exits into exceptions, so commands giving up on their input can be tested. */
+    private static class ExitTrap extends SecurityManager {
+        @Override
+        public void checkPermission(Permission perm) {}
+
+        @Override
+        public void checkPermission(Permission perm, Object context) {}
+
+        @Override
+        public void checkExit(int status) {
+            throw new SecurityException("exit " + status);
+        }
+    }
+
+    private static void copyKeyFile(String name, File destination) throws IOException {
+        Files.copy(
+                Paths.get(KeyImporterTest.class.getResource("/keyfiles/" + name).getFile()),
+                Paths.get(destination.getPath(), name));
+    }
 }
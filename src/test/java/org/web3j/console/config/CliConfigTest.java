@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.config;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.console.project.utils.Folders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CliConfigTest {
+
+    private File configFile;
+
+    @BeforeEach
+    public void setUp() {
+        configFile = new File(Folders.tempBuildFolder(), ".config");
+    }
+
+    @Test
+    public void testConcurrentSavesAreMerged() throws Exception {
+        CliConfig.getConfig(configFile).save();
+
+        CliConfig first = CliConfig.getConfig(configFile);
+        CliConfig second = CliConfig.getConfig(configFile);
+        first.setLatestVersion("99.0.0");
+        second.setLastUpdateCheck(1234L);
+        first.save();
+        second.save();
+
+        CliConfig saved = CliConfig.getConfig(configFile);
+        assertEquals("99.0.0", saved.getLatestVersion());
+        assertEquals(1234L, saved.getLastUpdateCheck());
+        assertEquals("99.0.0", second.getLatestVersion());
+        assertFalse(second.isChanged());
+    }
+
+    @Test
+    public void testDamagedConfigIsReplaced() throws Exception {
+        Files.write(configFile.toPath(), "{\"version\":".getBytes(StandardCharsets.UTF_8));
+
+        CliConfig config = CliConfig.getConfig(configFile);
+        assertNotNull(config.getClientId());
+        assertTrue(config.isChanged());
+
+        config.save();
+        assertEquals(config.getClientId(), CliConfig.getConfig(configFile).getClientId());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.daemon;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.console.Environment;
+import org.web3j.console.project.utils.Folders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DaemonTest {
+
+    @Test
+    public void testCommandsAreForwarded() throws Exception {
+        File stateFile = new File(Folders.tempBuildFolder(), "daemon.properties");
+        Daemon daemon =
+                new Daemon(
+                        stateFile,
+                        args -> {
+                            if (args[0].equals("worker")) {
+                                Thread worker = new Thread(() -> System.exit(5));
+                                worker.start();
+                                worker.join();
+                                return 0;
+                            }
+                            if (args[0].equals("status")) {
+                                return 7;
+                            }
+                            String line =
+                                    new BufferedReader(new InputStreamReader(System.in)).readLine();
+                            System.out.println(
+                                    args[0] + " " + line + " " + Environment.getenv("NAME"));
+                            System.err.println("exiting");
+                            System.exit(3);
+                            return 0;
+                        },
+                        TimeUnit.MINUTES.toMillis(1));
+        Thread serveThread =
+                new Thread(
+                        () -> {
+                            try {
+                                daemon.serve();
+                            } catch (Exception e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+        serveThread.start();
+
+        Properties state = awaitState(stateFile);
+        for (String name : new String[] {"first", "second"}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+            int status =
+                    DaemonClient.run(
+                            state,
+                            new String[] {"hello"},
+                            Collections.singletonMap("NAME", name.toUpperCase()),
+                            false,
+                            new ByteArrayInputStream(
+                                    (name + "\n").getBytes(StandardCharsets.UTF_8)),
+                            out,
+                            err);
+
+            assertEquals(3, status);
+            assertEquals("hello " + name + " " + name.toUpperCase(), out.toString("UTF-8").trim());
+            assertEquals("exiting", err.toString("UTF-8").trim());
+        }
+
+        assertEquals(
+                5,
+                DaemonClient.run(
+                        state,
+                        new String[] {"worker"},
+                        Collections.emptyMap(),
+                        false,
+                        new ByteArrayInputStream(new byte[0]),
+                        new ByteArrayOutputStream(),
+                        new ByteArrayOutputStream()));
+        assertEquals(
+                7,
+                DaemonClient.run(
+                        state,
+                        new String[] {"status"},
+                        Collections.emptyMap(),
+                        false,
+                        new ByteArrayInputStream(new byte[0]),
+                        new ByteArrayOutputStream(),
+                        new ByteArrayOutputStream()));
+        assertTrue(serveThread.isAlive());
+
+        assertTrue(DaemonClient.stop(stateFile));
+        serveThread.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(serveThread.isAlive());
+        assertFalse(stateFile.exists());
+        assertFalse(DaemonClient.stop(stateFile));
+    }
+
+    private static Properties awaitState(File stateFile) throws InterruptedException {
+        for (int i = 0; i < 200 && DaemonClient.readState(stateFile) == null; i++) {
+            Thread.sleep(50);
+        }
+        Properties state = DaemonClient.readState(stateFile);
+        assertNotNull(state);
+        return state;
+    }
+}
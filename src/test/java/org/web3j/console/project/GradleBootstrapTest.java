@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.project;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.console.project.utils.Folders;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GradleBootstrapTest {
+
+    private File tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        tempDir = Folders.tempBuildFolder();
+    }
+
+    @Test
+    public void testWrapperCommand() throws IOException {
+        GradleBootstrap bootstrap = new GradleBootstrap(null, null, null, false, false);
+
+        assertArrayEquals(
+                new String[] {"bash", "./gradlew", "build", "-q"},
+                bootstrap.command(tempDir, "build"));
+        assertArrayEquals(
+                new String[] {"cmd.exe", "/c", "gradlew.bat", "shadowJar", "-q"},
+                new GradleBootstrap(null, null, null, false, true).command(tempDir, "shadowJar"));
+    }
+
+    @Test
+    public void testOfflineCommand() throws IOException {
+        File gradleHome = new File(tempDir, "gradle");
+        File userHome = new File(tempDir, "cache");
+        File mirror = new File(tempDir, "repo");
+        assertTrue(mirror.mkdirs());
+        GradleBootstrap bootstrap =
+                new GradleBootstrap(
+                        gradleHome.getPath(), userHome.getPath(), mirror.getPath(), true, false);
+
+        File initScript = new File(tempDir, ".gradle/web3j-mirror.gradle");
+        assertArrayEquals(
+                new String[] {
+                    new File(gradleHome, "bin/gradle").getAbsolutePath(),
+                    "build",
+                    "-q",
+                    "--gradle-user-home",
+                    userHome.getAbsolutePath(),
+                    "--offline",
+                    "--init-script",
+                    initScript.getAbsolutePath()
+                },
+                bootstrap.command(tempDir, "build"));
+        assertEquals(
+                bootstrap.mirrorInitScript(),
+                new String(Files.readAllBytes(initScript.toPath()), StandardCharsets.UTF_8));
+        assertTrue(
+                bootstrap
+                        .mirrorInitScript()
+                        .startsWith("def mirror = '" + mirror.toURI().toString() + "'\n"));
+    }
+}
@@ -44,8 +44,11 @@ import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 
 public class UpdaterTest {
 
@@ -76,6 +79,61 @@ public class UpdaterTest {
         testWorksWithVersion(Version.getVersion());
     }
 
+    @Test
+    void testUpdateCheckIsRateLimited() throws Exception {
+        CliConfig config =
+                new CliConfig(
+                        Version.getVersion(),
+                        "http://localhost:8081",
+                        UUID.randomUUID().toString(),
+                        Version.getVersion(),
+                        null,
+                        null);
+        Updater updater = new Updater(config);
+        assertTrue(updater.isUpdateCheckDue());
+        assertFalse(config.isChanged());
+
+        config.setLastUpdateCheck(System.currentTimeMillis());
+        assertFalse(updater.isUpdateCheckDue());
+        assertTrue(config.isChanged());
+    }
+
+    @Test
+    void testUpdateCheckInterval() throws Exception {
+        CliConfig config =
+                spy(
+                        new CliConfig(
+                                Version.getVersion(),
+                                "http://localhost:8081",
+                                UUID.randomUUID().toString(),
+                                Version.getVersion(),
+                                null,
+                                null));
+        doNothing().when(config).save();
+
+        stubFor(
+                post(urlPathMatching("/api/versions/latest"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("Content-Type", "application/json")
+                                        .withBody(
+                                                String.format(
+                                                        "{\"latest\": {\"version\": \"%s\"}}",
+                                                        Version.getVersion()))));
+        Updater updater = new Updater(config);
+        assertTrue(updater.isUpdateCheckDue());
+        updater.onlineUpdateCheck();
+
+        verify(postRequestedFor(urlEqualTo("/api/versions/latest")));
+        assertFalse(updater.isUpdateCheckDue());
+        assertFalse(config.isUpdateAvailable());
+
+        config.setUpdateCheckInterval(1);
+        config.setLastUpdateCheck(System.currentTimeMillis() - 2000);
+        assertTrue(updater.isUpdateCheckDue());
+    }
+
     private void testWorksWithVersion(String version) throws IOException {
         CliConfig config =
                 mock(
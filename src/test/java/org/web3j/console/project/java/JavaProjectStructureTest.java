@@ -30,11 +30,7 @@ public class JavaProjectStructureTest {
     public void init() {
         tempDirPath = Folders.tempBuildFolder().getAbsolutePath();
         projectStructure = new JavaProjectStructure(tempDirPath, "test.test", "Test");
-        projectStructure.createMainDirectory();
-        projectStructure.createTestDirectory();
-        projectStructure.createSolidityDirectory();
-        projectStructure.createWrapperDirectory();
-        projectStructure.createTestDirectory();
+        projectStructure.createDirectories();
     }
 
     @Test
@@ -12,15 +12,19 @@
  */
 package org.web3j.console.project.java;
 
+import java.io.File;
 import java.io.IOException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.web3j.console.project.ProjectStructure;
 import org.web3j.console.project.templates.java.JavaTemplateBuilder;
 import org.web3j.console.project.templates.java.JavaTemplateProvider;
+import org.web3j.console.project.utils.Folders;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TemplateProviderTest {
     private JavaTemplateProvider templateProvider;
@@ -70,4 +74,24 @@ public class TemplateProviderTest {
     public void loadGradleWrapperTest() {
         assertFalse(templateProvider.getGradlewWrapperSettings().isEmpty());
     }
+
+    @Test
+    public void generateFilesTest() throws IOException {
+        ProjectStructure projectStructure =
+                new JavaProjectStructure(
+                        Folders.tempBuildFolder().getAbsolutePath(), "test.test", "Test");
+        projectStructure.createDirectories();
+
+        templateProvider.generateFiles(projectStructure);
+
+        assertTrue(new File(projectStructure.getMainPath(), "Test.java").exists());
+        assertTrue(new File(projectStructure.getProjectRoot(), "build.gradle").exists());
+        assertTrue(new File(projectStructure.getProjectRoot(), "settings.gradle").exists());
+        assertTrue(new File(projectStructure.getProjectRoot(), "gradlew").exists());
+        assertTrue(new File(projectStructure.getProjectRoot(), "gradlew.bat").exists());
+        assertTrue(new File(projectStructure.getWrapperPath(), "gradle-wrapper.jar").exists());
+        assertTrue(
+                new File(projectStructure.getWrapperPath(), "gradle-wrapper.properties").exists());
+        assertTrue(new File(projectStructure.getPathToTestDirectory()).isDirectory());
+    }
 }
@@ -31,11 +31,7 @@ public class KotlinProjectStructureTest {
     public void init() {
         tempDirPath = Folders.tempBuildFolder().getAbsolutePath();
         projectStructure = new KotlinProjectStructure(tempDirPath, "test.test", "Test");
-        projectStructure.createMainDirectory();
-        projectStructure.createTestDirectory();
-        projectStructure.createSolidityDirectory();
-        projectStructure.createWrapperDirectory();
-        projectStructure.createTestDirectory();
+        projectStructure.createDirectories();
     }
 
     @Test
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.project.templates;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TemplateReaderTest {
+
+    @Test
+    public void testLineEndingsArePreserved() throws Exception {
+        String contents = TemplateReader.readFile("templates/crlf.template");
+        assertEquals("line one\r\nline two <project_name>\r\nno trailing newline", contents);
+    }
+
+    @Test
+    public void testCopyTo() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TemplateReader.copyTo("gradle-wrapper.jar", out);
+        assertArrayEquals(
+                Files.readAllBytes(Paths.get("src", "main", "resources", "gradle-wrapper.jar")),
+                out.toByteArray());
+    }
+
+    @Test
+    public void testMissingTemplate() {
+        assertThrows(
+                FileNotFoundException.class, () -> TemplateReader.readFile("missing.template"));
+    }
+}
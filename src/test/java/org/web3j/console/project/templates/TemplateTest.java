@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.console.project.templates;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TemplateTest {
+
+    @Test
+    public void testRender() {
+        Template template =
+                Template.compile(
+                        "package <package_name>;\n"
+                                + "class <project_name> { List<String> names; <<project_name>> }\n"
+                                + "<unknown> <Upper> <> <project_name");
+        Map<String, String> values = new HashMap<>();
+        values.put("package_name", "org.example");
+        values.put("project_name", "Price$1\\n");
+
+        assertEquals(
+                "package org.example;\n"
+                        + "class Price$1\\n { List<String> names; <Price$1\\n> }\n"
+                        + "<unknown> <Upper> <> <project_name",
+                template.render(values));
+    }
+
+    @Test
+    public void testLoadIsCached() throws Exception {
+        Template template = Template.load("settings.gradle.template");
+        assertSame(template, Template.load("settings.gradle.template"));
+        assertEquals(
+                TemplateReader.readFile("settings.gradle.template")
+                        .replaceAll("<project_name>", "Example"),
+                template.render(Collections.singletonMap("project_name", "Example")));
+    }
+
+    @Test
+    public void testTextIsCached() throws Exception {
+        String text = Template.load("gradlew.template").text();
+        assertEquals(TemplateReader.readFile("gradlew.template"), text);
+        assertSame(text, Template.load("gradlew.template").text());
+    }
+}